@@ -0,0 +1,21 @@
+package com.paymentic.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+public class BenchmarkRunner {
+  public static void main(String[] args) throws Exception {
+    var commandLine = new CommandLineOptions(args);
+    var options = new OptionsBuilder()
+        .parent(commandLine)
+        .addProfiler(GCProfiler.class);
+    if (!commandLine.getResult().hasValue()) {
+      options.resultFormat(ResultFormatType.JSON).result("jmh-result.json");
+    }
+    new Runner(options.build()).run();
+  }
+
+}
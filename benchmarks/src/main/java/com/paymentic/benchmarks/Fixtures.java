@@ -0,0 +1,52 @@
+package com.paymentic.benchmarks;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jdk8.Jdk8Module;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.module.paramnames.ParameterNamesModule;
+import com.paymentic.infra.json.MoneyModule;
+
+final class Fixtures {
+  static final String PAYMENT_ORDER_ID = "6f1c0a52-4c43-4c36-8a0e-92b5a3c6a1d7";
+  static final String CHECKOUT_ID = "0b6a3c1e-1f1a-4f0e-9f0f-2a8b9e4b9a10";
+  static final String REFUND_ID = "9a0f3e2d-7c1b-4a5e-8d6f-1b2c3d4e5f60";
+  static final String PAYMENT_CREATED_DATA = """
+      {"status":"APPROVED","level":{"name":"LOW","from":0,"to":30},\
+      "transaction":{"payment":{"id":"%s","amount":"150.90","currency":"BRL","status":"NOT_STARTED"},\
+      "order":{"id":"%s","paymentType":{"cardInfo":"VISA **** 4242","token":"tok_4c2f0a9e8b7d"},"at":"2024-01-15T10:15:30.123456"},\
+      "participants":{"buyer":{"document":"12345678900","name":"Maria Silva"},"seller":{"sellerId":"seller-42"}}}}"""
+      .formatted(PAYMENT_ORDER_ID, CHECKOUT_ID);
+  static final String REFUND_CREATED_DATA = """
+      {"refund":{"id":"%s","amount":"50.00","currency":"BRL",\
+      "cardInfo":{"cardInfo":"VISA **** 4242","token":"tok_4c2f0a9e8b7d"},\
+      "buyerInfo":{"document":"12345678900","name":"Maria Silva"},"sellerInfo":{"sellerId":"seller-42"}},\
+      "payment":{"id":"%s","amount":"150.90","currency":"BRL","status":"SUCCESS"}}"""
+      .formatted(REFUND_ID, PAYMENT_ORDER_ID);
+  static final String PAYMENT_CREATED_CLOUD_EVENT = structured("funny-bunny.xyz.risk-management.v1.risk.decision.approved",
+      "risk-management", PAYMENT_CREATED_DATA);
+  static final String REFUND_CREATED_CLOUD_EVENT = structured("funny-bunny.xyz.payment-processing.v1.refund.created",
+      "payment-processing", REFUND_CREATED_DATA);
+  private Fixtures() {
+  }
+  static ObjectMapper mapper() {
+    return JsonMapper.builder()
+        .addModule(new Jdk8Module())
+        .addModule(new JavaTimeModule())
+        .addModule(new ParameterNamesModule())
+        .addModule(MoneyModule.module())
+        .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+        .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+        .disable(SerializationFeature.WRITE_DURATIONS_AS_TIMESTAMPS)
+        .build();
+  }
+  private static String structured(String type, String source, String data) {
+    return """
+        {"specversion":"1.0","id":"2f4f7c3a-5b6e-4d8f-9a1b-3c5d7e9f1a2b","source":"%s","type":"%s",\
+        "datacontenttype":"application/json","time":"2024-01-15T10:15:30.123Z","data":%s}"""
+        .formatted(source, type, data);
+  }
+
+}
@@ -0,0 +1,56 @@
+package com.paymentic.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.paymentic.domain.payment.events.PaymentCreatedEvent;
+import com.paymentic.domain.payment.events.RefundCreatedEvent;
+import io.vertx.core.json.JsonObject;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class IncomingDecodeBenchmark {
+  private ObjectMapper mapper;
+  private byte[] paymentCreatedData;
+  private byte[] refundCreatedData;
+  @Setup
+  public void setup() {
+    this.mapper = Fixtures.mapper();
+    this.paymentCreatedData = Fixtures.PAYMENT_CREATED_DATA.getBytes(StandardCharsets.UTF_8);
+    this.refundCreatedData = Fixtures.REFUND_CREATED_DATA.getBytes(StandardCharsets.UTF_8);
+  }
+  @Benchmark
+  public PaymentCreatedEvent paymentCreatedJackson() throws IOException {
+    return this.mapper.readValue(this.paymentCreatedData, PaymentCreatedEvent.class);
+  }
+  @Benchmark
+  public PaymentCreatedEvent paymentCreatedStructuredCloudEvent() {
+    var cloudEvent = new JsonObject(Fixtures.PAYMENT_CREATED_CLOUD_EVENT);
+    return this.mapper.convertValue(cloudEvent.getJsonObject("data").getMap(), PaymentCreatedEvent.class);
+  }
+  @Benchmark
+  public RefundCreatedEvent refundCreatedJackson() throws IOException {
+    return this.mapper.readValue(this.refundCreatedData, RefundCreatedEvent.class);
+  }
+  @Benchmark
+  public RefundCreatedEvent refundCreatedStructuredCloudEvent() {
+    var cloudEvent = new JsonObject(Fixtures.REFUND_CREATED_CLOUD_EVENT);
+    return this.mapper.convertValue(cloudEvent.getJsonObject("data").getMap(), RefundCreatedEvent.class);
+  }
+
+}
@@ -0,0 +1,114 @@
+package com.paymentic.benchmarks;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+public class LoadTestHarness {
+  private static final Map<String, String> DEFAULTS = Map.of(
+      "messages", "20000",
+      "warmUp", "2000",
+      "rate", "0",
+      "refundRatio", "0.2",
+      "duplicateRatio", "0.05",
+      "timeoutSeconds", "600");
+  public static void main(String[] args) throws Exception {
+    System.setProperty("java.util.logging.manager", "org.jboss.logmanager.LogManager");
+    var options = new LinkedHashMap<>(Map.of("app", "target/quarkus-app/quarkus-run.jar", "port", "8086"));
+    options.putAll(DEFAULTS);
+    for (var arg : args) {
+      var separator = arg.indexOf('=');
+      if (!arg.startsWith("--") || separator < 0) {
+        throw new IllegalArgumentException(String.format("Expected --name=value, got %s",arg));
+      }
+      options.put(arg.substring(2, separator), arg.substring(separator + 1));
+    }
+    var jdbcUrl = System.getenv("LOAD_TEST_JDBC_URL");
+    EmbeddedPostgres postgres = null;
+    if (jdbcUrl == null) {
+      postgres = EmbeddedPostgres.builder().start();
+      jdbcUrl = postgres.getJdbcUrl("postgres", "postgres");
+      System.out.printf("Embedded Postgres on port %d%n", postgres.getPort());
+    }
+    var log = Path.of("target", "load-test.log");
+    Files.createDirectories(log.getParent());
+    var command = new ArrayList<String>();
+    command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+    command.add("-Dquarkus.profile=loadtest");
+    command.add("-Dquarkus.http.port=" + options.get("port"));
+    command.add("-jar");
+    command.add(options.get("app"));
+    var builder = new ProcessBuilder(command).redirectErrorStream(true).redirectOutput(log.toFile());
+    builder.environment().put("LOAD_TEST_JDBC_URL", jdbcUrl);
+    var app = builder.start();
+    var embedded = postgres;
+    var stop = new Thread(() -> stop(app, embedded));
+    Runtime.getRuntime().addShutdownHook(stop);
+    try {
+      var base = URI.create("http://localhost:" + options.get("port"));
+      var client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(2)).build();
+      awaitReady(client, base, app, log.toFile());
+      var body = new StringBuilder("{");
+      for (var name : DEFAULTS.keySet()) {
+        body.append(body.length() > 1 ? "," : "").append('"').append(name).append("\":").append(options.get(name));
+      }
+      body.append('}');
+      System.out.printf("Load test %s%n", body);
+      var response = client.send(HttpRequest.newBuilder(base.resolve("/load-test/runs"))
+              .timeout(Duration.ofSeconds(2L * Long.parseLong(options.get("timeoutSeconds")) + 60))
+              .header("Content-Type", "application/json")
+              .POST(HttpRequest.BodyPublishers.ofString(body.toString()))
+              .build(),
+          HttpResponse.BodyHandlers.ofString());
+      System.out.printf("HTTP %d%n%s%n", response.statusCode(), response.body().replace(",\"", ",\n \""));
+    } finally {
+      Runtime.getRuntime().removeShutdownHook(stop);
+      stop(app, postgres);
+    }
+  }
+  private static void stop(Process app, EmbeddedPostgres postgres) {
+    try {
+      app.destroy();
+      if (!app.waitFor(30, TimeUnit.SECONDS)) {
+        app.destroyForcibly().waitFor();
+      }
+      if (postgres != null) {
+        postgres.close();
+      }
+    } catch (InterruptedException exception) {
+      Thread.currentThread().interrupt();
+    } catch (IOException exception) {
+      System.err.printf("Embedded Postgres did not stop: %s%n", exception.getMessage());
+    }
+  }
+  private static void awaitReady(HttpClient client, URI base, Process app, File log) throws Exception {
+    var deadline = System.nanoTime() + Duration.ofSeconds(60).toNanos();
+    while (System.nanoTime() < deadline) {
+      if (!app.isAlive()) {
+        throw new IllegalStateException(String.format("Service exited with %d, see %s",app.exitValue(),log));
+      }
+      try {
+        var ready = client.send(HttpRequest.newBuilder(base.resolve("/q/health/ready")).build(), HttpResponse.BodyHandlers.discarding());
+        if (ready.statusCode() == 200) {
+          return;
+        }
+      } catch (IOException notYet) {
+        // not listening yet
+      }
+      Thread.sleep(200);
+    }
+    throw new IllegalStateException(String.format("Service not ready after 60s, see %s",log));
+  }
+
+}
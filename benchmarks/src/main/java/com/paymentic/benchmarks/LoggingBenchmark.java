@@ -0,0 +1,41 @@
+package com.paymentic.benchmarks;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import org.jboss.logging.Logger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LoggingBenchmark {
+  private static final Logger LOGGER = Logger.getLogger(LoggingBenchmark.class);
+  private final UUID checkoutId = UUID.randomUUID();
+  private final String eventId = UUID.randomUUID().toString();
+  @Setup
+  public void setup() {
+    java.util.logging.Logger.getLogger(LoggingBenchmark.class.getName()).setLevel(Level.INFO);
+  }
+  @Benchmark
+  public String eagerFormat() {
+    return String.format("Receiving payment created event. Checkout-Id %s Event-Id %s. Start processing....",this.checkoutId.toString(),this.eventId);
+  }
+  @Benchmark
+  public void disabledDebugf() {
+    LOGGER.debugf("Receiving payment created event. Checkout-Id %s Event-Id %s. Start processing....",this.checkoutId,this.eventId);
+  }
+
+}
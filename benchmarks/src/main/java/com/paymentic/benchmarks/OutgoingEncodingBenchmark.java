@@ -0,0 +1,131 @@
+package com.paymentic.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.paymentic.adapter.kafka.out.AvroEventEncoder;
+import com.paymentic.adapter.kafka.out.OutgoingCloudEventTemplate;
+import com.paymentic.domain.payment.events.PaymentOrderStartedEvent;
+import com.paymentic.domain.shared.BuyerInfo;
+import com.paymentic.domain.shared.CheckoutId;
+import com.paymentic.domain.shared.Money;
+import com.paymentic.domain.shared.PaymentOrderId;
+import com.paymentic.domain.shared.SellerInfo;
+import com.paymentic.domain.transaction.TransactionId;
+import com.paymentic.domain.transaction.TransactionStatus;
+import com.paymentic.domain.transaction.events.TransactionProcessedEvent;
+import com.paymentic.infra.avro.AvroSchemas;
+import com.paymentic.infra.ce.CExtensions.Audience;
+import com.paymentic.infra.ce.CExtensions.EventContext;
+import com.paymentic.infra.ce.ExtensionsBuilder;
+import io.smallrye.config.SmallRyeConfigBuilder;
+import io.smallrye.reactive.messaging.kafka.KafkaConnectorOutgoingConfiguration;
+import io.smallrye.reactive.messaging.kafka.impl.RuntimeKafkaSinkConfiguration;
+import io.smallrye.reactive.messaging.kafka.impl.ce.KafkaCloudEventHelper;
+import io.vertx.core.json.JsonObject;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.Serializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.eclipse.microprofile.reactive.messaging.Message;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OutgoingEncodingBenchmark {
+  private static final String TOPIC = "payment-processing";
+  private final String id = UUID.randomUUID().toString();
+  private ObjectMapper mapper;
+  private AvroEventEncoder encoder;
+  private PaymentOrderStartedEvent paymentOrderStarted;
+  private TransactionProcessedEvent transactionProcessed;
+  private OutgoingCloudEventTemplate jsonTemplate;
+  private OutgoingCloudEventTemplate paymentOrderStartedTemplate;
+  private OutgoingCloudEventTemplate transactionProcessedTemplate;
+  private RuntimeKafkaSinkConfiguration structured;
+  private RuntimeKafkaSinkConfiguration binary;
+  @Setup
+  public void setup() throws IOException {
+    this.mapper = Fixtures.mapper();
+    this.encoder = new AvroEventEncoder();
+    this.paymentOrderStarted = new PaymentOrderStartedEvent(Fixtures.PAYMENT_ORDER_ID, "150.90", "BRL", new SellerInfo("seller-42"), "2024-01-15");
+    this.transactionProcessed = TransactionProcessedEvent.ofCheckout(TransactionId.next(), new SellerInfo("seller-42"),
+        new PaymentOrderId(UUID.fromString(Fixtures.PAYMENT_ORDER_ID)), new CheckoutId(UUID.fromString(Fixtures.CHECKOUT_ID)),
+        Money.of("150.90", "BRL"), LocalDateTime.parse("2024-01-15T10:15:30.123456"), new BuyerInfo("12345678900", "Maria Silva"),
+        TransactionStatus.APPROVED);
+    var extensions = new ExtensionsBuilder().audience(Audience.EXTERNAL_BOUNDED_CONTEXT).eventContext(EventContext.DOMAIN).build();
+    var registry = "http://localhost:8086/schema-registry-stub";
+    this.jsonTemplate = new OutgoingCloudEventTemplate(extensions);
+    this.paymentOrderStartedTemplate = new OutgoingCloudEventTemplate(extensions, AvroEventEncoder.CONTENT_TYPE,
+        URI.create(registry + AvroSchemas.PAYMENT_ORDER_STARTED.path()));
+    this.transactionProcessedTemplate = new OutgoingCloudEventTemplate(extensions, AvroEventEncoder.CONTENT_TYPE,
+        URI.create(registry + AvroSchemas.TRANSACTION_PROCESSED.path()));
+    this.structured = sink("structured", StringSerializer.class);
+    this.binary = sink("binary", ByteArraySerializer.class);
+    System.out.printf("%nRecord bytes (value + headers): payment-order-started json %d avro %d, transaction-approved json %d avro %d%n",
+        this.paymentOrderStartedJson(), this.paymentOrderStartedAvro(), this.transactionProcessedJson(), this.transactionProcessedAvro());
+  }
+  @Benchmark
+  public int paymentOrderStartedJson() throws IOException {
+    return this.structuredRecord(this.mapper.writeValueAsString(this.paymentOrderStarted));
+  }
+  @Benchmark
+  public int paymentOrderStartedAvro() {
+    return this.binaryRecord(this.encoder.encode(this.paymentOrderStarted), this.paymentOrderStartedTemplate);
+  }
+  @Benchmark
+  public int transactionProcessedJson() throws IOException {
+    return this.structuredRecord(this.mapper.writeValueAsString(this.transactionProcessed));
+  }
+  @Benchmark
+  public int transactionProcessedAvro() {
+    return this.binaryRecord(this.encoder.encode(this.transactionProcessed), this.transactionProcessedTemplate);
+  }
+  private int structuredRecord(String payload) {
+    var message = Message.of(new JsonObject(payload));
+    var record = KafkaCloudEventHelper.createStructuredRecord(message, TOPIC, null, null, this.jsonTemplate.withId(this.id), this.structured);
+    return size(record, ((String) record.value()).getBytes(StandardCharsets.UTF_8));
+  }
+  private int binaryRecord(byte[] data, OutgoingCloudEventTemplate template) {
+    var record = KafkaCloudEventHelper.createBinaryRecord(Message.of(data), TOPIC, null, null, template.withId(this.id), this.binary);
+    return size(record, (byte[]) record.value());
+  }
+  private static int size(ProducerRecord<?, ?> record, byte[] value) {
+    var size = value.length;
+    for (Header header : record.headers()) {
+      size += header.key().length() + header.value().length;
+    }
+    return size;
+  }
+  private static RuntimeKafkaSinkConfiguration sink(String mode, Class<? extends Serializer<?>> serializer) {
+    var config = new SmallRyeConfigBuilder().withDefaultValues(Map.of(
+        "channel-name", "transaction-approved",
+        "topic", TOPIC,
+        "cloud-events-mode", mode,
+        "value.serializer", serializer.getName(),
+        "cloud-events-source", "payment-executor",
+        "cloud-events-type", "funny-bunny.xyz.payment-processing.v1.payment-order.approved",
+        "cloud-events-subject", "payment-order-approved")).build();
+    return RuntimeKafkaSinkConfiguration.buildFromConfiguration(new KafkaConnectorOutgoingConfiguration(config));
+  }
+
+}
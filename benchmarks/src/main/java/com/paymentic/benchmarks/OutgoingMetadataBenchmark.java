@@ -0,0 +1,47 @@
+package com.paymentic.benchmarks;
+
+import com.paymentic.adapter.kafka.out.OutgoingCloudEventTemplate;
+import com.paymentic.infra.ce.CExtensions.Audience;
+import com.paymentic.infra.ce.CExtensions.EventContext;
+import com.paymentic.infra.ce.ExtensionsBuilder;
+import io.smallrye.reactive.messaging.ce.OutgoingCloudEventMetadata;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OutgoingMetadataBenchmark {
+  private final UUID id = UUID.randomUUID();
+  private final OutgoingCloudEventTemplate template = new OutgoingCloudEventTemplate(
+      new ExtensionsBuilder().audience(Audience.EXTERNAL_BOUNDED_CONTEXT).eventContext(EventContext.DOMAIN).build());
+  @Benchmark
+  public Map<String, Object> extensions() {
+    return new ExtensionsBuilder().audience(Audience.EXTERNAL_BOUNDED_CONTEXT).eventContext(EventContext.DOMAIN).build();
+  }
+  @Benchmark
+  public OutgoingCloudEventMetadata<Object> outgoingMetadata() {
+    return OutgoingCloudEventMetadata.builder()
+        .withId(this.id.toString())
+        .withExtensions(new ExtensionsBuilder().audience(Audience.EXTERNAL_BOUNDED_CONTEXT).eventContext(EventContext.DOMAIN).build())
+        .build();
+  }
+  @Benchmark
+  public OutgoingCloudEventMetadata<Object> templateMetadata() {
+    return this.template.withId(this.id.toString());
+  }
+
+}
@@ -0,0 +1,74 @@
+package com.paymentic.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.paymentic.domain.shared.BuyerInfo;
+import com.paymentic.domain.shared.CardInfo;
+import com.paymentic.domain.shared.CheckoutId;
+import com.paymentic.domain.shared.Money;
+import com.paymentic.domain.shared.PaymentOrderId;
+import com.paymentic.domain.shared.SellerInfo;
+import com.paymentic.domain.transaction.Transaction;
+import com.paymentic.domain.transaction.TransactionId;
+import com.paymentic.domain.transaction.TransactionStatus;
+import com.paymentic.domain.transaction.TransactionType;
+import com.paymentic.domain.transaction.events.TransactionProcessedEvent;
+import io.vertx.core.json.JsonObject;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TransactionBenchmark {
+  private final PaymentOrderId paymentOrder = new PaymentOrderId(UUID.fromString(Fixtures.PAYMENT_ORDER_ID));
+  private final BuyerInfo buyer = new BuyerInfo("12345678900", "Maria Silva");
+  private final CardInfo card = new CardInfo("VISA **** 4242", "tok_4c2f0a9e8b7d");
+  private final SellerInfo seller = new SellerInfo("seller-42");
+  private final Money money = Money.of("150.90", "BRL");
+  private ObjectMapper mapper;
+  private TransactionProcessedEvent event;
+  private String payload;
+  @Setup
+  public void setup() throws JsonProcessingException {
+    this.mapper = Fixtures.mapper();
+    this.event = TransactionProcessedEvent.ofCheckout(TransactionId.next(), this.seller, this.paymentOrder,
+        new CheckoutId(UUID.fromString(Fixtures.CHECKOUT_ID)), this.money, LocalDateTime.now(), this.buyer, TransactionStatus.APPROVED);
+    this.payload = this.mapper.writeValueAsString(this.event);
+  }
+  @Benchmark
+  public Money moneyOf() {
+    return Money.of("150.90", "BRL");
+  }
+  @Benchmark
+  public Transaction newTransactionReceived() {
+    return Transaction.newTransactionReceived(this.paymentOrder, Money.of("150.90", "BRL"), this.buyer, this.card, TransactionType.PAYMENT);
+  }
+  @Benchmark
+  public Transaction newTransactionProcessed() {
+    return Transaction.newTransactionProcessed(this.paymentOrder, this.money, this.buyer, this.card, "approved", TransactionType.PAYMENT);
+  }
+  @Benchmark
+  public String transactionProcessedEventSerialization() throws JsonProcessingException {
+    return this.mapper.writeValueAsString(this.event);
+  }
+  @Benchmark
+  public JsonObject transactionProcessedEventRelay() {
+    return new JsonObject(this.payload);
+  }
+
+}
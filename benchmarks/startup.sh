@@ -0,0 +1,65 @@
+#!/usr/bin/env bash
+# Cold start of the service, repeated: time to readiness and time to the first handled message.
+#
+#   benchmarks/startup.sh [runs] [command...]
+#
+# The command defaults to the JVM build (java -jar target/quarkus-app/quarkus-run.jar); pass
+# ./target/payment-executor-1.0-SNAPSHOT-runner for the native build. Postgres, Kafka and the PSP (or the dev
+# profile stubs) must be reachable. Every run joins a fresh consumer group, so with auto.offset.reset=earliest the
+# first message is the oldest record of the incoming topics: point it at a topic that has at least one.
+set -euo pipefail
+
+RUNS=${1:-5}
+shift || true
+COMMAND=("$@")
+if [ ${#COMMAND[@]} -eq 0 ]; then
+  COMMAND=(java -jar target/quarkus-app/quarkus-run.jar)
+fi
+BASE_URL=${BASE_URL:-http://localhost:8086}
+TIMEOUT_SECONDS=${TIMEOUT_SECONDS:-60}
+LOG_DIR=${LOG_DIR:-target/startup}
+mkdir -p "$LOG_DIR"
+
+now_ms() {
+  date +%s%3N
+}
+
+# payment_executor_startup_first_message_seconds{channel="..."} is published once a channel handled a message,
+# measured from the process start like the readiness time
+first_message_ms() {
+  curl -fs "$BASE_URL/q/metrics" \
+    | awk '/^payment_executor_startup_first_message_seconds/ { v = $2 * 1000; if (min == "" || v < min) min = v } END { if (min != "") printf "%d", min }'
+}
+
+summary() {
+  [ $# -gt 0 ] && printf '%s\n' "$@" | sort -n | awk '{ v[NR] = $1 } END { printf "min %d ms, median %d ms, max %d ms", v[1], v[int((NR + 1) / 2)], v[NR] }'
+}
+
+READY=()
+FIRST=()
+for run in $(seq 1 "$RUNS"); do
+  start=$(now_ms)
+  KAFKA_GROUP_ID="startup-benchmark-$start" "${COMMAND[@]}" > "$LOG_DIR/run-$run.log" 2>&1 &
+  pid=$!
+  ready=""
+  first=""
+  deadline=$((start + TIMEOUT_SECONDS * 1000))
+  while [ "$(now_ms)" -lt "$deadline" ] && kill -0 "$pid" 2>/dev/null; do
+    if [ -z "$ready" ] && curl -fs -o /dev/null "$BASE_URL/q/health/ready"; then
+      ready=$(( $(now_ms) - start ))
+    fi
+    if [ -n "$ready" ]; then
+      first=$(first_message_ms || true)
+      if [ -n "$first" ]; then break; fi
+    fi
+    sleep 0.05
+  done
+  kill "$pid" 2>/dev/null || true
+  wait "$pid" 2>/dev/null || true
+  echo "run $run: ready ${ready:-timeout} ms, first message ${first:-timeout} ms"
+  if [ -n "$ready" ]; then READY+=("$ready"); fi
+  if [ -n "$first" ]; then FIRST+=("$first"); fi
+done
+
+echo "ready:         $(summary ${READY[@]+"${READY[@]}"} || echo n/a)"
+echo "first message: $(summary ${FIRST[@]+"${FIRST[@]}"} || echo n/a)"
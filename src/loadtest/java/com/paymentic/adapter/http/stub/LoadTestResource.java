@@ -0,0 +1,215 @@
+package com.paymentic.adapter.http.stub;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.paymentic.domain.payment.events.PaymentCreatedEvent;
+import com.paymentic.domain.payment.events.PaymentRetryEvent;
+import com.paymentic.domain.payment.events.RefundCreatedEvent;
+import io.quarkus.arc.properties.IfBuildProperty;
+import io.smallrye.reactive.messaging.ce.OutgoingCloudEventMetadata;
+import io.smallrye.reactive.messaging.ce.impl.DefaultIncomingCloudEventMetadata;
+import io.smallrye.reactive.messaging.memory.InMemoryConnector;
+import io.vertx.core.json.JsonObject;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.inject.Any;
+import jakarta.ws.rs.BadRequestException;
+import jakarta.ws.rs.POST;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.WebApplicationException;
+import jakarta.ws.rs.core.Response.Status;
+import java.net.URI;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import org.eclipse.microprofile.reactive.messaging.Message;
+import org.eclipse.microprofile.reactive.messaging.Metadata;
+import org.jboss.logging.Logger;
+
+@Path("/load-test")
+@ApplicationScoped
+@IfBuildProperty(name = "payment-executor.load-test.enabled", stringValue = "true")
+public class LoadTestResource {
+  private static final Logger LOGGER = Logger.getLogger(LoadTestResource.class);
+  private static final String PAYMENT_CREATED_CHANNEL = "payment-created";
+  private static final String REFUND_CREATED_CHANNEL = "refund-created";
+  private static final String PAYMENT_CREATED_TYPE = "funny-bunny.xyz.risk-management.v1.risk.decision.approved";
+  private static final String REFUND_CREATED_TYPE = "funny-bunny.xyz.payment-processing.v1.refund.created";
+  private static final String PAYMENT_RETRY_TYPE = "funny-bunny.xyz.payment-executor.v1.payment.retry";
+  private static final List<String> OUTCOME_CHANNELS = List.of("transaction-approved", "transaction-failed");
+  private static final List<String> RETRY_CHANNELS = List.of("payment-retry-1", "payment-retry-2", "payment-retry-3");
+  private static final List<String> RETRY_DUE_CHANNELS = List.of("payment-retry-due-1", "payment-retry-due-2", "payment-retry-due-3");
+  private static final List<String> OUTGOING_CHANNELS = List.of("payment-order-started", "refund-started", "transaction-approved", "transaction-failed",
+      "payment-retry-1", "payment-retry-2", "payment-retry-3");
+  private static final String PAYMENT_CREATED_DATA = """
+      {"status":"APPROVED","level":{"name":"LOW","from":0,"to":30},\
+      "transaction":{"payment":{"id":"%s","amount":"150.90","currency":"BRL","status":"NOT_STARTED"},\
+      "order":{"id":"%s","paymentType":{"cardInfo":"VISA **** 4242","token":"tok_4c2f0a9e8b7d"},"at":"2024-01-15T10:15:30.123456"},\
+      "participants":{"buyer":{"document":"12345678900","name":"Maria Silva"},"seller":{"sellerId":"seller-42"}}}}""";
+  private static final String REFUND_CREATED_DATA = """
+      {"refund":{"id":"%s","amount":"50.00","currency":"BRL",\
+      "cardInfo":{"cardInfo":"VISA **** 4242","token":"tok_4c2f0a9e8b7d"},\
+      "buyerInfo":{"document":"12345678900","name":"Maria Silva"},"sellerInfo":{"sellerId":"seller-42"}},\
+      "payment":{"id":"%s","amount":"150.90","currency":"BRL","status":"SUCCESS"}}""";
+  private final InMemoryConnector connector;
+  private final ObjectMapper mapper;
+  private final ReentrantLock running = new ReentrantLock();
+  public LoadTestResource(@Any InMemoryConnector connector, ObjectMapper mapper) {
+    this.connector = connector;
+    this.mapper = mapper;
+  }
+  @POST
+  @Path("/runs")
+  public LoadTestReport run(LoadTestRun run) throws InterruptedException {
+    if (run.messages() <= 0 || run.warmUp() < 0 || run.rate() < 0 || run.timeoutSeconds() <= 0
+        || run.refundRatio() < 0 || run.duplicateRatio() < 0 || run.refundRatio() + run.duplicateRatio() > 1) {
+      throw new BadRequestException("messages and timeoutSeconds must be positive, ratios must add up to at most 1");
+    }
+    if (!this.running.tryLock()) {
+      throw new WebApplicationException("A load test is already running", Status.CONFLICT);
+    }
+    try {
+      return this.execute(run);
+    } finally {
+      this.running.unlock();
+    }
+  }
+  private LoadTestReport execute(LoadTestRun run) throws InterruptedException {
+    var total = run.warmUp() + run.messages();
+    var planned = this.plan(total, run.refundRatio(), run.duplicateRatio());
+    var outcomes = planned.stream().filter(message -> !message.duplicate()).count();
+    OUTGOING_CHANNELS.forEach(channel -> this.connector.sink(channel).clear());
+    var latencies = new long[total];
+    var failed = new AtomicInteger();
+    var done = new CountDownLatch(total);
+    var interval = run.rate() == 0 ? 0 : TimeUnit.SECONDS.toNanos(1) / run.rate();
+    LOGGER.infof("Load test: %d messages (%d warm-up) at %s msg/s, refund ratio %.2f, duplicate ratio %.2f",
+        total,run.warmUp(),run.rate() == 0 ? "unbounded" : run.rate(),run.refundRatio(),run.duplicateRatio());
+    // the in-memory connector has no broker behind it: hand what goes to a retry topic back to its consumer
+    var forwarding = new AtomicBoolean(true);
+    var forwarder = Thread.ofVirtual().name("load-test-retries").start(() -> this.forwardRetries(forwarding));
+    var start = System.nanoTime();
+    var measuredStart = start + interval * run.warmUp();
+    for (int i = 0; i < total; i++) {
+      var scheduled = start + interval * i;
+      while (System.nanoTime() < scheduled) {
+        LockSupport.parkNanos(scheduled - System.nanoTime());
+      }
+      if (i == run.warmUp() && interval == 0) {
+        measuredStart = System.nanoTime();
+      }
+      var index = i;
+      var sent = interval == 0 ? System.nanoTime() : scheduled;
+      var message = planned.get(i);
+      Runnable complete = () -> {
+        latencies[index] = System.nanoTime() - sent;
+        done.countDown();
+      };
+      this.connector.source(message.channel()).send(Message.of(message.payload(), Metadata.of(message.cloudEvent()),
+          () -> {
+            complete.run();
+            return CompletableFuture.completedFuture(null);
+          },
+          error -> {
+            failed.incrementAndGet();
+            complete.run();
+            return CompletableFuture.completedFuture(null);
+          }));
+    }
+    var completed = done.await(run.timeoutSeconds(), TimeUnit.SECONDS);
+    var elapsed = System.nanoTime() - measuredStart;
+    var published = this.published(OUTCOME_CHANNELS);
+    var drainDeadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(run.timeoutSeconds());
+    while (published < outcomes - failed.get() && System.nanoTime() < drainDeadline) {
+      Thread.sleep(10);
+      published = this.published(OUTCOME_CHANNELS);
+    }
+    forwarding.set(false);
+    forwarder.join();
+    var drained = System.nanoTime() - start;
+    var measured = Arrays.stream(latencies, run.warmUp(), total).filter(latency -> latency > 0).sorted().toArray();
+    var handled = measured.length;
+    var report = new LoadTestReport(run.messages(), handled, failed.get(), completed, elapsed / 1e9, handled / (elapsed / 1e9),
+        percentile(measured, 0.5), percentile(measured, 0.99), percentile(measured, 0.999), percentile(measured, 1.0),
+        outcomes, published, this.published(RETRY_CHANNELS), drained / 1e9);
+    LOGGER.infof("Load test finished: %s",report);
+    return report;
+  }
+  private List<PlannedMessage> plan(int total, double refundRatio, double duplicateRatio) {
+    var random = ThreadLocalRandom.current();
+    var planned = new ArrayList<PlannedMessage>(total);
+    var payments = new ArrayList<String>();
+    for (int i = 0; i < total; i++) {
+      var draw = random.nextDouble();
+      if (!planned.isEmpty() && draw < duplicateRatio) {
+        var original = planned.get(random.nextInt(planned.size()));
+        planned.add(new PlannedMessage(original.channel(), original.payload(), original.cloudEvent(), true));
+      } else if (!payments.isEmpty() && draw < duplicateRatio + refundRatio) {
+        var paymentOrder = payments.get(random.nextInt(payments.size()));
+        var data = REFUND_CREATED_DATA.formatted(UUID.randomUUID(), paymentOrder);
+        planned.add(this.planned(REFUND_CREATED_CHANNEL, REFUND_CREATED_TYPE, "payment-processing", this.read(data, RefundCreatedEvent.class)));
+      } else {
+        var paymentOrder = UUID.randomUUID().toString();
+        payments.add(paymentOrder);
+        var data = PAYMENT_CREATED_DATA.formatted(paymentOrder, UUID.randomUUID());
+        planned.add(this.planned(PAYMENT_CREATED_CHANNEL, PAYMENT_CREATED_TYPE, "risk-management", this.read(data, PaymentCreatedEvent.class)));
+      }
+    }
+    return planned;
+  }
+  private <T> PlannedMessage planned(String channel, String type, String source, T payload) {
+    var cloudEvent = new DefaultIncomingCloudEventMetadata<>("1.0", UUID.randomUUID().toString(), URI.create(source), type,
+        "application/json", null, null, ZonedDateTime.now(), Map.of(), payload);
+    return new PlannedMessage(channel, payload, cloudEvent, false);
+  }
+  private <T> T read(String data, Class<T> type) {
+    try {
+      return this.mapper.readValue(data, type);
+    } catch (JsonProcessingException exception) {
+      throw new IllegalStateException(String.format("Invalid load test fixture for %s",type.getSimpleName()), exception);
+    }
+  }
+  private void forwardRetries(AtomicBoolean forwarding) {
+    var forwarded = new int[RETRY_CHANNELS.size()];
+    while (forwarding.get()) {
+      for (int i = 0; i < RETRY_CHANNELS.size(); i++) {
+        var received = this.connector.sink(RETRY_CHANNELS.get(i)).received();
+        for (; forwarded[i] < received.size(); forwarded[i]++) {
+          var message = received.get(forwarded[i]);
+          var retry = this.read(((JsonObject) message.getPayload()).encode(), PaymentRetryEvent.class);
+          var id = message.getMetadata(OutgoingCloudEventMetadata.class).map(OutgoingCloudEventMetadata::getId).orElseThrow();
+          var cloudEvent = new DefaultIncomingCloudEventMetadata<>("1.0", id, URI.create("payment-executor"), PAYMENT_RETRY_TYPE,
+              "application/json", null, null, ZonedDateTime.now(), Map.of(), retry);
+          this.connector.source(RETRY_DUE_CHANNELS.get(i)).send(Message.of(retry, Metadata.of(cloudEvent)));
+        }
+      }
+      LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(10));
+    }
+  }
+  private long published(List<String> channels) {
+    return channels.stream().mapToLong(channel -> this.connector.sink(channel).received().size()).sum();
+  }
+  private static double percentile(long[] sorted, double quantile) {
+    if (sorted.length == 0) {
+      return 0;
+    }
+    var index = (int) Math.ceil(quantile * sorted.length) - 1;
+    return sorted[Math.max(index, 0)] / 1e6;
+  }
+  private record PlannedMessage(String channel, Object payload, DefaultIncomingCloudEventMetadata<?> cloudEvent, boolean duplicate) {}
+  public record LoadTestRun(int messages, int warmUp, int rate, double refundRatio, double duplicateRatio, int timeoutSeconds) {}
+  public record LoadTestReport(int messages, int handled, int failed, boolean completed, double seconds, double throughput,
+                               double p50Millis, double p99Millis, double p999Millis, double maxMillis,
+                               long expectedOutcomes, long publishedOutcomes, long retried, double drainedSeconds) {}
+
+}
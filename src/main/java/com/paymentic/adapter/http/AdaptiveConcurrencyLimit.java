@@ -0,0 +1,87 @@
+package com.paymentic.adapter.http;
+
+import java.time.Duration;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+public class AdaptiveConcurrencyLimit {
+  private final int min;
+  private final int max;
+  private final long latencyThreshold;
+  private final double backoffRatio;
+  private final ReentrantLock lock = new ReentrantLock();
+  private final Condition available = this.lock.newCondition();
+  private double limit;
+  private int inFlight;
+  public AdaptiveConcurrencyLimit(int initial, int min, int max, Duration latencyThreshold, double backoffRatio) {
+    this.min = min;
+    this.max = max;
+    this.latencyThreshold = latencyThreshold.toNanos();
+    this.backoffRatio = backoffRatio;
+    this.limit = Math.max(min, Math.min(max, initial));
+  }
+  public boolean acquire(Duration maxWait) throws InterruptedException {
+    this.lock.lock();
+    try {
+      var remaining = maxWait.toNanos();
+      while (this.inFlight >= (int) this.limit) {
+        if (remaining <= 0) {
+          return false;
+        }
+        remaining = this.available.awaitNanos(remaining);
+      }
+      this.inFlight++;
+      return true;
+    } finally {
+      this.lock.unlock();
+    }
+  }
+  public boolean admit() {
+    this.lock.lock();
+    try {
+      this.inFlight++;
+      return this.inFlight < (int) this.limit;
+    } finally {
+      this.lock.unlock();
+    }
+  }
+  public boolean available() {
+    this.lock.lock();
+    try {
+      return this.inFlight < (int) this.limit;
+    } finally {
+      this.lock.unlock();
+    }
+  }
+  public void release(long latencyNanos, boolean failed) {
+    this.lock.lock();
+    try {
+      if (failed || latencyNanos > this.latencyThreshold) {
+        this.limit = Math.max(this.min, this.limit * this.backoffRatio);
+      } else if (this.inFlight * 2 >= this.limit) {
+        this.limit = Math.min(this.max, this.limit + 1.0 / this.limit);
+      }
+      this.inFlight--;
+      this.available.signalAll();
+    } finally {
+      this.lock.unlock();
+    }
+  }
+  public int limit() {
+    this.lock.lock();
+    try {
+      return (int) this.limit;
+    } finally {
+      this.lock.unlock();
+    }
+  }
+  public int inFlight() {
+    this.lock.lock();
+    try {
+      return this.inFlight;
+    } finally {
+      this.lock.unlock();
+    }
+  }
+
+}
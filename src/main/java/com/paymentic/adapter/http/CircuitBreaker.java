@@ -0,0 +1,145 @@
+package com.paymentic.adapter.http;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+public class CircuitBreaker {
+  private final boolean[] outcomes;
+  private final int minimumCalls;
+  private final double failureRatio;
+  private final Duration delay;
+  private final int probes;
+  private final Executor executor;
+  private final Consumer<PspCircuitStateChanged> listener;
+  private final ReentrantLock lock = new ReentrantLock();
+  private CircuitState state = CircuitState.CLOSED;
+  private int calls;
+  private int failures;
+  private int next;
+  private long generation;
+  private int probesInFlight;
+  private int probeSuccesses;
+  public CircuitBreaker(int window, int minimumCalls, double failureRatio, Duration delay, int probes,
+      Executor executor, Consumer<PspCircuitStateChanged> listener) {
+    this.outcomes = new boolean[window];
+    this.minimumCalls = minimumCalls;
+    this.failureRatio = failureRatio;
+    this.delay = delay;
+    this.probes = probes;
+    this.executor = executor;
+    this.listener = listener;
+  }
+  public Optional<Permit> tryAcquire() {
+    this.lock.lock();
+    try {
+      return Optional.ofNullable(this.permit());
+    } finally {
+      this.lock.unlock();
+    }
+  }
+  public void onSuccess(Permit permit) {
+    this.record(permit, false);
+  }
+  public void onFailure(Permit permit) {
+    this.record(permit, true);
+  }
+  public void onIgnored(Permit permit) {
+    this.lock.lock();
+    try {
+      if (this.state == CircuitState.HALF_OPEN && permit.generation() == this.generation) {
+        this.probesInFlight--;
+      }
+    } finally {
+      this.lock.unlock();
+    }
+  }
+  public CircuitState state() {
+    this.lock.lock();
+    try {
+      return this.state;
+    } finally {
+      this.lock.unlock();
+    }
+  }
+  private Permit permit() {
+    if (this.state == CircuitState.CLOSED) {
+      return new Permit(this.generation);
+    }
+    if (this.state == CircuitState.HALF_OPEN && this.probesInFlight < this.probes) {
+      this.probesInFlight++;
+      return new Permit(this.generation);
+    }
+    return null;
+  }
+  private void record(Permit permit, boolean failed) {
+    PspCircuitStateChanged transition = null;
+    this.lock.lock();
+    try {
+      // outcomes of calls admitted before the last transition belong to a window or probe round that is gone
+      if (permit.generation() != this.generation) {
+        return;
+      }
+      if (this.state == CircuitState.HALF_OPEN) {
+        this.probesInFlight--;
+        if (failed) {
+          transition = this.transition(CircuitState.OPEN);
+        } else if (++this.probeSuccesses >= this.probes) {
+          transition = this.transition(CircuitState.CLOSED);
+        }
+      } else if (this.state == CircuitState.CLOSED) {
+        if (this.calls == this.outcomes.length) {
+          this.failures -= this.outcomes[this.next] ? 1 : 0;
+        } else {
+          this.calls++;
+        }
+        this.outcomes[this.next] = failed;
+        this.failures += failed ? 1 : 0;
+        this.next = (this.next + 1) % this.outcomes.length;
+        if (this.calls >= this.minimumCalls && this.failures >= this.failureRatio * this.calls) {
+          transition = this.transition(CircuitState.OPEN);
+        }
+      }
+    } finally {
+      this.lock.unlock();
+    }
+    this.notify(transition);
+  }
+  private void halfOpen() {
+    PspCircuitStateChanged transition = null;
+    this.lock.lock();
+    try {
+      if (this.state == CircuitState.OPEN) {
+        transition = this.transition(CircuitState.HALF_OPEN);
+      }
+    } finally {
+      this.lock.unlock();
+    }
+    this.notify(transition);
+  }
+  private PspCircuitStateChanged transition(CircuitState to) {
+    var from = this.state;
+    this.state = to;
+    this.generation++;
+    this.calls = 0;
+    this.failures = 0;
+    this.next = 0;
+    this.probesInFlight = 0;
+    this.probeSuccesses = 0;
+    if (to == CircuitState.OPEN) {
+      CompletableFuture.runAsync(this::halfOpen, CompletableFuture.delayedExecutor(this.delay.toMillis(), TimeUnit.MILLISECONDS, this.executor));
+    }
+    return new PspCircuitStateChanged(from, to);
+  }
+  private void notify(PspCircuitStateChanged transition) {
+    if (transition != null) {
+      this.listener.accept(transition);
+    }
+  }
+  public record Permit(long generation) {}
+
+}
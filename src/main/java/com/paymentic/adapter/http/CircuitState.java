@@ -0,0 +1,7 @@
+package com.paymentic.adapter.http;
+
+public enum CircuitState {
+  CLOSED,
+  HALF_OPEN,
+  OPEN
+}
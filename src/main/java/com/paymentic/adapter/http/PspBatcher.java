@@ -0,0 +1,137 @@
+package com.paymentic.adapter.http;
+
+import com.paymentic.domain.psp.PaymentRequest;
+import com.paymentic.domain.psp.PaymentResult;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.virtual.threads.VirtualThreads;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.WebApplicationException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+@ApplicationScoped
+public class PspBatcher {
+  private static final Logger LOGGER = Logger.getLogger(PspBatcher.class);
+  private static final Set<Integer> UNSUPPORTED = Set.of(404, 405, 501);
+  private final PspRestClient pspRestClient;
+  private final ExecutorService executor;
+  private final boolean enabled;
+  private final int size;
+  private final Duration maxWait;
+  private final DistributionSummary batchSizes;
+  private final ReentrantLock lock = new ReentrantLock();
+  private List<Pending> pending;
+  private volatile boolean supported = true;
+  @Inject
+  public PspBatcher(PspTransport pspTransport, @VirtualThreads ExecutorService executor, MeterRegistry registry,
+      @ConfigProperty(name = "payment-executor.psp.batch.enabled", defaultValue = "false") boolean enabled,
+      @ConfigProperty(name = "payment-executor.psp.batch.size", defaultValue = "50") int size,
+      @ConfigProperty(name = "payment-executor.psp.batch.max-wait", defaultValue = "5ms") Duration maxWait) {
+    this(pspTransport.client(), executor, registry, enabled, size, maxWait);
+  }
+  PspBatcher(PspRestClient pspRestClient, ExecutorService executor, MeterRegistry registry, boolean enabled, int size, Duration maxWait) {
+    this.pspRestClient = pspRestClient;
+    this.executor = executor;
+    this.enabled = enabled;
+    this.size = size;
+    this.maxWait = maxWait;
+    this.batchSizes = DistributionSummary.builder("payment.executor.psp.batch.size").register(registry);
+  }
+  public boolean isEnabled() {
+    return this.enabled && this.supported;
+  }
+  public CompletableFuture<PaymentResult> submit(PaymentRequest request) {
+    if (!this.isEnabled()) {
+      return this.pspRestClient.payAsync(request).toCompletableFuture();
+    }
+    var result = new CompletableFuture<PaymentResult>();
+    List<Pending> full = null;
+    this.lock.lock();
+    try {
+      if (this.pending == null) {
+        var window = new ArrayList<Pending>(this.size);
+        this.pending = window;
+        CompletableFuture.runAsync(() -> this.flush(window),
+            CompletableFuture.delayedExecutor(this.maxWait.toNanos(), TimeUnit.NANOSECONDS, this.executor));
+      }
+      this.pending.add(new Pending(request, result));
+      if (this.pending.size() >= this.size) {
+        full = this.pending;
+        this.pending = null;
+      }
+    } finally {
+      this.lock.unlock();
+    }
+    if (full != null) {
+      this.send(full);
+    }
+    return result;
+  }
+  private void flush(List<Pending> window) {
+    this.lock.lock();
+    try {
+      if (this.pending != window) {
+        return;
+      }
+      this.pending = null;
+    } finally {
+      this.lock.unlock();
+    }
+    this.send(window);
+  }
+  private void send(List<Pending> batch) {
+    this.batchSizes.record(batch.size());
+    if (!this.supported) {
+      batch.forEach(this::single);
+      return;
+    }
+    var requests = new ArrayList<PaymentRequest>(batch.size());
+    batch.forEach(entry -> requests.add(entry.request()));
+    CompletableFuture<List<PaymentResult>> call;
+    try {
+      call = this.pspRestClient.payBatchAsync(requests).toCompletableFuture();
+    } catch (RuntimeException exception) {
+      call = CompletableFuture.failedFuture(exception);
+    }
+    call.whenComplete((results, error) -> {
+      var cause = error instanceof CompletionException ? error.getCause() : error;
+      if (cause instanceof WebApplicationException web && UNSUPPORTED.contains(web.getResponse().getStatus())) {
+        LOGGER.warn(String.format("PSP has no batch endpoint (HTTP %d), falling back to single calls",web.getResponse().getStatus()));
+        this.supported = false;
+        batch.forEach(this::single);
+      } else if (cause != null) {
+        batch.forEach(entry -> entry.result().completeExceptionally(cause));
+      } else if (results == null || results.size() != batch.size()) {
+        var mismatch = new IllegalStateException(String.format("PSP answered %d results for %d requests",
+            results == null ? 0 : results.size(),batch.size()));
+        batch.forEach(entry -> entry.result().completeExceptionally(mismatch));
+      } else {
+        for (int i = 0; i < batch.size(); i++) {
+          batch.get(i).result().complete(results.get(i));
+        }
+      }
+    });
+  }
+  private void single(Pending entry) {
+    this.pspRestClient.payAsync(entry.request()).whenComplete((result, error) -> {
+      if (error != null) {
+        entry.result().completeExceptionally(error);
+      } else {
+        entry.result().complete(result);
+      }
+    });
+  }
+  private record Pending(PaymentRequest request, CompletableFuture<PaymentResult> result) {}
+
+}
@@ -0,0 +1,3 @@
+package com.paymentic.adapter.http;
+
+public record PspCircuitStateChanged(CircuitState from, CircuitState to) {}
@@ -0,0 +1,121 @@
+package com.paymentic.adapter.http;
+
+import com.paymentic.domain.psp.PaymentRequest;
+import com.paymentic.domain.psp.PaymentResult;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.quarkus.virtual.threads.VirtualThreads;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Event;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+@ApplicationScoped
+public class PspGateway {
+  private static final Logger LOGGER = Logger.getLogger(PspGateway.class);
+  private final PspBatcher pspBatcher;
+  private final AdaptiveConcurrencyLimit limit;
+  private final CircuitBreaker circuitBreaker;
+  private final Duration deadline;
+  private final Duration limitMaxWait;
+  private final Counter limitRejected;
+  private final Counter circuitRejected;
+  private final Timer approved;
+  private final Timer declined;
+  private final Timer unknown;
+  private final Timer timedOut;
+  private final Timer failed;
+  public PspGateway(PspBatcher pspBatcher, @VirtualThreads ExecutorService executor,
+      Event<PspCircuitStateChanged> circuitTrigger, MeterRegistry registry,
+      @ConfigProperty(name = "payment-executor.psp.deadline", defaultValue = "5s") Duration deadline,
+      @ConfigProperty(name = "payment-executor.psp.limit.initial", defaultValue = "20") int initialLimit,
+      @ConfigProperty(name = "payment-executor.psp.limit.min", defaultValue = "1") int minLimit,
+      @ConfigProperty(name = "payment-executor.psp.limit.max", defaultValue = "200") int maxLimit,
+      @ConfigProperty(name = "payment-executor.psp.limit.latency-threshold", defaultValue = "1s") Duration latencyThreshold,
+      @ConfigProperty(name = "payment-executor.psp.limit.backoff-ratio", defaultValue = "0.9") double backoffRatio,
+      @ConfigProperty(name = "payment-executor.psp.limit.max-wait", defaultValue = "10s") Duration limitMaxWait,
+      @ConfigProperty(name = "payment-executor.psp.circuit-breaker.window", defaultValue = "20") int window,
+      @ConfigProperty(name = "payment-executor.psp.circuit-breaker.minimum-calls", defaultValue = "10") int minimumCalls,
+      @ConfigProperty(name = "payment-executor.psp.circuit-breaker.failure-ratio", defaultValue = "0.5") double failureRatio,
+      @ConfigProperty(name = "payment-executor.psp.circuit-breaker.delay", defaultValue = "10s") Duration delay,
+      @ConfigProperty(name = "payment-executor.psp.circuit-breaker.probes", defaultValue = "3") int probes) {
+    this.pspBatcher = pspBatcher;
+    this.deadline = deadline;
+    this.limitMaxWait = limitMaxWait;
+    this.limit = new AdaptiveConcurrencyLimit(initialLimit, minLimit, maxLimit, latencyThreshold, backoffRatio);
+    this.circuitBreaker = new CircuitBreaker(window, minimumCalls, failureRatio, delay, probes, executor, transition -> {
+      LOGGER.warn(String.format("PSP circuit breaker moved from %s to %s",transition.from(),transition.to()));
+      circuitTrigger.fire(transition);
+    });
+    registry.gauge("payment.executor.psp.limit", this.limit, AdaptiveConcurrencyLimit::limit);
+    registry.gauge("payment.executor.psp.in-flight", this.limit, AdaptiveConcurrencyLimit::inFlight);
+    registry.gauge("payment.executor.psp.circuit.state", this.circuitBreaker, breaker -> breaker.state().ordinal());
+    this.limitRejected = registry.counter("payment.executor.psp.rejected", "reason", "limit");
+    this.circuitRejected = registry.counter("payment.executor.psp.rejected", "reason", "circuit");
+    this.approved = Timer.builder("payment.executor.psp.call").tag("outcome", "approved").register(registry);
+    this.declined = Timer.builder("payment.executor.psp.call").tag("outcome", "declined").register(registry);
+    this.unknown = Timer.builder("payment.executor.psp.call").tag("outcome", "unknown").register(registry);
+    this.timedOut = Timer.builder("payment.executor.psp.call").tag("outcome", "timeout").register(registry);
+    this.failed = Timer.builder("payment.executor.psp.call").tag("outcome", "error").register(registry);
+  }
+  public CompletableFuture<PaymentResult> pay(PaymentRequest request) {
+    // an open circuit fails fast: waiting it out would hold the record past the commit max age
+    var admitted = this.circuitBreaker.tryAcquire();
+    if (admitted.isEmpty()) {
+      this.circuitRejected.increment();
+      throw new PspUnavailableException(String.format("PSP circuit is %s",this.circuitBreaker.state()));
+    }
+    var permit = admitted.get();
+    try {
+      if (!this.limit.acquire(this.limitMaxWait)) {
+        this.circuitBreaker.onIgnored(permit);
+        this.limitRejected.increment();
+        throw new PspUnavailableException(String.format("PSP concurrency limit %d reached for %s",this.limit.limit(),this.limitMaxWait));
+      }
+    } catch (InterruptedException exception) {
+      this.circuitBreaker.onIgnored(permit);
+      Thread.currentThread().interrupt();
+      throw new PspUnavailableException("Interrupted while waiting for the PSP");
+    }
+    var start = System.nanoTime();
+    CompletableFuture<PaymentResult> call;
+    try {
+      call = this.pspBatcher.submit(request);
+    } catch (RuntimeException exception) {
+      call = CompletableFuture.failedFuture(exception);
+    }
+    // the deadline only frees the caller: the request keeps its connection until the transport answers or hits
+    // its read timeout, so the limit permit is held until then
+    call.whenComplete((result, error) -> this.limit.release(System.nanoTime() - start, error != null));
+    return call.copy().orTimeout(this.deadline.toMillis(), TimeUnit.MILLISECONDS)
+        .whenComplete((result, error) -> {
+          this.outcome(result, error).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+          if (error == null) {
+            this.circuitBreaker.onSuccess(permit);
+          } else {
+            this.circuitBreaker.onFailure(permit);
+          }
+        });
+  }
+  private Timer outcome(PaymentResult result, Throwable error) {
+    if (error != null) {
+      var cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+      return cause instanceof TimeoutException ? this.timedOut : this.failed;
+    }
+    if ("APPROVED".equalsIgnoreCase(result.getStatus())) {
+      return this.approved;
+    }
+    return "DECLINED".equalsIgnoreCase(result.getStatus()) ? this.declined : this.unknown;
+  }
+  public CircuitState circuitState() {
+    return this.circuitBreaker.state();
+  }
+
+}
@@ -2,14 +2,26 @@ package com.paymentic.adapter.http;
 
 import com.paymentic.domain.psp.PaymentRequest;
 import com.paymentic.domain.psp.PaymentResult;
+import jakarta.ws.rs.OPTIONS;
 import jakarta.ws.rs.POST;
 import jakarta.ws.rs.Path;
-import org.eclipse.microprofile.rest.client.inject.RegisterRestClient;
+import jakarta.ws.rs.core.Response;
+import java.util.List;
+import java.util.concurrent.CompletionStage;
 
 @Path("/payments")
-@RegisterRestClient
 public interface PspRestClient {
   @POST
   PaymentResult pay(PaymentRequest request);
 
+  @POST
+  CompletionStage<PaymentResult> payAsync(PaymentRequest request);
+
+  @POST
+  @Path("/batch")
+  CompletionStage<List<PaymentResult>> payBatchAsync(List<PaymentRequest> requests);
+
+  @OPTIONS
+  Response options();
+
 }
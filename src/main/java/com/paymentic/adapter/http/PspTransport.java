@@ -0,0 +1,158 @@
+package com.paymentic.adapter.http;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.restclient.runtime.QuarkusRestClientBuilder;
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.runtime.StartupEvent;
+import io.quarkus.virtual.threads.VirtualThreads;
+import io.vertx.core.Vertx;
+import io.vertx.core.http.HttpClientOptions;
+import io.vertx.core.http.HttpVersion;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Event;
+import jakarta.enterprise.event.Observes;
+import jakarta.ws.rs.WebApplicationException;
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+import org.jboss.resteasy.client.jaxrs.ClientHttpEngine;
+import org.jboss.resteasy.client.jaxrs.engines.ApacheHttpClient43Engine;
+import org.jboss.resteasy.client.jaxrs.engines.vertx.VertxClientHttpEngine;
+
+@ApplicationScoped
+public class PspTransport {
+  private static final Logger LOGGER = Logger.getLogger(PspTransport.class);
+  private static final Duration WARM_UP_RETRY = Duration.ofSeconds(1);
+  private final ExecutorService executor;
+  private final boolean http2;
+  private final int warmUpConnections;
+  private final Duration warmUpTimeout;
+  private final ClientHttpEngine engine;
+  private final PspRestClient client;
+  private final Event<PspWarmedUp> warmedUp;
+  private final AtomicInteger warmed = new AtomicInteger();
+  private volatile boolean ready;
+  private volatile boolean failed;
+  public PspTransport(@VirtualThreads ExecutorService executor, Vertx vertx, MeterRegistry registry, Event<PspWarmedUp> warmedUp,
+      @ConfigProperty(name = "quarkus.rest-client.\"com.paymentic.adapter.http.PspRestClient\".url") URI url,
+      @ConfigProperty(name = "quarkus.rest-client.\"com.paymentic.adapter.http.PspRestClient\".connect-timeout", defaultValue = "1000") long connectTimeout,
+      @ConfigProperty(name = "quarkus.rest-client.\"com.paymentic.adapter.http.PspRestClient\".read-timeout", defaultValue = "5000") long readTimeout,
+      @ConfigProperty(name = "payment-executor.psp.transport.pool-size", defaultValue = "200") int poolSize,
+      @ConfigProperty(name = "payment-executor.psp.transport.pool-acquire-timeout", defaultValue = "1s") Duration poolAcquireTimeout,
+      @ConfigProperty(name = "payment-executor.psp.transport.keep-alive", defaultValue = "60s") Duration keepAlive,
+      @ConfigProperty(name = "payment-executor.psp.transport.validate-after-inactivity", defaultValue = "2s") Duration validateAfterInactivity,
+      @ConfigProperty(name = "payment-executor.psp.transport.http2.enabled", defaultValue = "false") boolean http2,
+      @ConfigProperty(name = "payment-executor.psp.transport.http2.pool-size", defaultValue = "2") int http2PoolSize,
+      @ConfigProperty(name = "payment-executor.psp.transport.http2.multiplexing-limit", defaultValue = "100") int multiplexingLimit,
+      @ConfigProperty(name = "payment-executor.psp.transport.warm-up.connections", defaultValue = "8") int warmUpConnections,
+      @ConfigProperty(name = "payment-executor.psp.transport.warm-up.timeout", defaultValue = "10s") Duration warmUpTimeout) {
+    this.executor = executor;
+    this.warmedUp = warmedUp;
+    this.http2 = http2;
+    this.warmUpConnections = warmUpConnections;
+    this.warmUpTimeout = warmUpTimeout;
+    if (http2) {
+      var options = new HttpClientOptions().setProtocolVersion(HttpVersion.HTTP_2).setUseAlpn(true).setHttp2ClearTextUpgrade(false)
+          .setHttp2MaxPoolSize(http2PoolSize).setHttp2MultiplexingLimit(multiplexingLimit).setMaxPoolSize(poolSize)
+          .setKeepAlive(true).setKeepAliveTimeout((int) keepAlive.toSeconds()).setHttp2KeepAliveTimeout((int) keepAlive.toSeconds())
+          .setConnectTimeout((int) connectTimeout);
+      this.engine = new VertxClientHttpEngine(vertx, options);
+      registry.gauge("payment.executor.psp.pool.max", this, transport -> http2PoolSize * (double) multiplexingLimit);
+    } else {
+      var connections = new PoolingHttpClientConnectionManager(keepAlive.toMillis(), TimeUnit.MILLISECONDS);
+      connections.setMaxTotal(poolSize);
+      connections.setDefaultMaxPerRoute(poolSize);
+      connections.setValidateAfterInactivity((int) validateAfterInactivity.toMillis());
+      var requests = RequestConfig.custom().setConnectTimeout((int) connectTimeout).setSocketTimeout((int) readTimeout)
+          .setConnectionRequestTimeout((int) poolAcquireTimeout.toMillis()).build();
+      var httpClient = HttpClients.custom().setConnectionManager(connections).setDefaultRequestConfig(requests)
+          .setKeepAliveStrategy((response, context) -> keepAlive.toMillis())
+          .evictExpiredConnections().evictIdleConnections(keepAlive.toMillis(), TimeUnit.MILLISECONDS).build();
+      this.engine = new ApacheHttpClient43Engine(httpClient, true);
+      registry.gauge("payment.executor.psp.pool.leased", connections, pool -> pool.getTotalStats().getLeased());
+      registry.gauge("payment.executor.psp.pool.available", connections, pool -> pool.getTotalStats().getAvailable());
+      registry.gauge("payment.executor.psp.pool.pending", connections, pool -> pool.getTotalStats().getPending());
+      registry.gauge("payment.executor.psp.pool.max", connections, pool -> pool.getTotalStats().getMax());
+    }
+    var builder = new QuarkusRestClientBuilder();
+    builder.baseUri(url).executorService(executor).connectTimeout(connectTimeout, TimeUnit.MILLISECONDS).readTimeout(readTimeout, TimeUnit.MILLISECONDS);
+    this.client = builder.build(PspRestClient.class, this.engine);
+  }
+  public PspRestClient client() {
+    return this.client;
+  }
+  public boolean isReady() {
+    return this.ready;
+  }
+  public int warmed() {
+    return this.warmed.get();
+  }
+  public String warmUpState() {
+    return this.ready ? "done" : this.failed ? "failed" : "running";
+  }
+  public String protocol() {
+    return this.http2 ? "HTTP/2" : "HTTP/1.1";
+  }
+  void start(@Observes StartupEvent startup){
+    this.executor.execute(this::warmUp);
+  }
+  void stop(@Observes ShutdownEvent shutdown){
+    this.engine.close();
+  }
+  private void warmUp() {
+    var start = System.nanoTime();
+    this.warmed.set(0);
+    var calls = new ArrayList<CompletableFuture<Void>>(this.warmUpConnections);
+    for (int i = 0; i < this.warmUpConnections; i++) {
+      calls.add(CompletableFuture.runAsync(this::touch, this.executor));
+    }
+    try {
+      CompletableFuture.allOf(calls.toArray(CompletableFuture[]::new)).get(this.warmUpTimeout.toMillis(), TimeUnit.MILLISECONDS);
+    } catch (TimeoutException exception) {
+      LOGGER.warnf("PSP warm-up did not finish within %s",this.warmUpTimeout);
+    } catch (InterruptedException exception) {
+      Thread.currentThread().interrupt();
+    } catch (Exception exception) {
+      LOGGER.warnf("PSP warm-up failed: %s",exception.getMessage());
+    }
+    var answered = this.warmed.get();
+    if (answered == 0 && this.warmUpConnections > 0) {
+      // an unreachable PSP would fail every payment: keep the consumers paused and try again
+      if (!this.failed) {
+        LOGGER.errorf("PSP %s transport warm-up got no answer to %d calls, trying again every %s",this.protocol(),this.warmUpConnections,WARM_UP_RETRY);
+      }
+      this.failed = true;
+      CompletableFuture.runAsync(this::warmUp, CompletableFuture.delayedExecutor(WARM_UP_RETRY.toMillis(), TimeUnit.MILLISECONDS, this.executor));
+      return;
+    }
+    this.ready = true;
+    this.failed = false;
+    LOGGER.infof("PSP %s transport warm-up answered %d of %d calls in %d ms",this.protocol(),answered,this.warmUpConnections,
+        TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    this.warmedUp.fire(new PspWarmedUp(this.protocol(), answered));
+  }
+  private void touch() {
+    try {
+      this.client.options().close();
+      this.warmed.incrementAndGet();
+    } catch (WebApplicationException exception) {
+      if (Objects.nonNull(exception.getResponse())) {
+        this.warmed.incrementAndGet();
+      }
+    } catch (RuntimeException exception) {
+      LOGGER.debugf("PSP warm-up call failed: %s",exception.getMessage());
+    }
+  }
+
+}
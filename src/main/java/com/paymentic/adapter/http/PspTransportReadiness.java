@@ -0,0 +1,25 @@
+package com.paymentic.adapter.http;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import org.eclipse.microprofile.health.HealthCheck;
+import org.eclipse.microprofile.health.HealthCheckResponse;
+import org.eclipse.microprofile.health.Readiness;
+
+@Readiness
+@ApplicationScoped
+public class PspTransportReadiness implements HealthCheck {
+  private final PspTransport pspTransport;
+  public PspTransportReadiness(PspTransport pspTransport) {
+    this.pspTransport = pspTransport;
+  }
+  @Override
+  public HealthCheckResponse call() {
+    return HealthCheckResponse.named("psp-transport")
+        .status(this.pspTransport.isReady())
+        .withData("protocol", this.pspTransport.protocol())
+        .withData("warm-up", this.pspTransport.warmUpState())
+        .withData("warm-up-answered", this.pspTransport.warmed())
+        .build();
+  }
+
+}
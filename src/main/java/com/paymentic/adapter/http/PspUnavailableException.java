@@ -0,0 +1,8 @@
+package com.paymentic.adapter.http;
+
+public class PspUnavailableException extends RuntimeException {
+  public PspUnavailableException(String message) {
+    super(message);
+  }
+
+}
@@ -0,0 +1,3 @@
+package com.paymentic.adapter.http;
+
+public record PspWarmedUp(String protocol, int answered) {}
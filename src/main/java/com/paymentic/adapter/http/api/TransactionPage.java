@@ -0,0 +1,7 @@
+package com.paymentic.adapter.http.api;
+
+import java.util.List;
+
+public record TransactionPage(List<TransactionView> items, String next) {
+
+}
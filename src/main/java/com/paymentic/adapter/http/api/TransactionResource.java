@@ -0,0 +1,163 @@
+package com.paymentic.adapter.http.api;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.paymentic.domain.transaction.Transaction;
+import com.paymentic.domain.transaction.TransactionCursor;
+import com.paymentic.domain.transaction.TransactionQuery;
+import com.paymentic.domain.transaction.TransactionSituation;
+import com.paymentic.domain.transaction.TransactionStatus;
+import com.paymentic.domain.transaction.TransactionType;
+import com.paymentic.domain.transaction.repositories.TransactionRepository;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.ws.rs.BadRequestException;
+import jakarta.ws.rs.DefaultValue;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.NotFoundException;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.PathParam;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.StreamingOutput;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+@Path("/transactions")
+@ApplicationScoped
+@Produces(MediaType.APPLICATION_JSON)
+public class TransactionResource {
+  private static final Logger LOGGER = Logger.getLogger(TransactionResource.class);
+  private static final String NDJSON = "application/x-ndjson";
+  private static final String CSV = "text/csv";
+  private static final String CSV_HEADER = "transaction_id,payment_order_id,amount,currency,status,situation,type,created_at\n";
+  private static final int BUFFER_SIZE = 64 * 1024;
+  private final TransactionRepository transactionRepository;
+  private final ObjectWriter rowWriter;
+  private final int defaultPageSize;
+  private final int maxPageSize;
+  private final int exportFetchSize;
+  private final Duration exportTimeout;
+  public TransactionResource(TransactionRepository transactionRepository, ObjectMapper mapper,
+      @ConfigProperty(name = "payment-executor.api.transactions.default-page-size", defaultValue = "50") int defaultPageSize,
+      @ConfigProperty(name = "payment-executor.api.transactions.max-page-size", defaultValue = "500") int maxPageSize,
+      @ConfigProperty(name = "payment-executor.api.transactions.export.fetch-size", defaultValue = "1000") int exportFetchSize,
+      @ConfigProperty(name = "payment-executor.api.transactions.export.timeout", defaultValue = "30m") Duration exportTimeout) {
+    this.transactionRepository = transactionRepository;
+    this.rowWriter = mapper.writerFor(TransactionView.class).without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    this.defaultPageSize = defaultPageSize;
+    this.maxPageSize = maxPageSize;
+    this.exportFetchSize = exportFetchSize;
+    this.exportTimeout = exportTimeout;
+  }
+  @GET
+  public TransactionPage search(@QueryParam("paymentOrderId") String paymentOrderId, @QueryParam("status") String status,
+      @QueryParam("type") String type, @QueryParam("situation") String situation,
+      @QueryParam("from") String from, @QueryParam("to") String to,
+      @QueryParam("after") String after, @QueryParam("limit") Integer limit) {
+    int size = limit == null ? this.defaultPageSize : limit;
+    if (size < 1 || size > this.maxPageSize) {
+      throw new BadRequestException(String.format("limit must be between 1 and %d",this.maxPageSize));
+    }
+    var query = this.query(paymentOrderId, status, type, situation, from, to);
+    TransactionCursor cursor;
+    try {
+      cursor = after == null ? null : TransactionCursor.decode(after);
+    } catch (IllegalArgumentException exception) {
+      throw new BadRequestException(exception.getMessage());
+    }
+    var transactions = this.transactionRepository.page(query, cursor, size + 1);
+    String next = null;
+    if (transactions.size() > size) {
+      transactions = transactions.subList(0, size);
+      next = TransactionCursor.of(transactions.get(size - 1)).encode();
+    }
+    return new TransactionPage(transactions.stream().map(TransactionView::from).toList(), next);
+  }
+  @GET
+  @Path("/export")
+  @Produces({NDJSON, CSV})
+  public Response export(@QueryParam("from") String from, @QueryParam("to") String to,
+      @QueryParam("status") String status, @QueryParam("type") String type,
+      @QueryParam("situation") String situation, @QueryParam("format") @DefaultValue("ndjson") String format) {
+    if (from == null || to == null) {
+      throw new BadRequestException("from and to are required");
+    }
+    var query = this.query(null, status, type, situation, from, to);
+    var csv = "csv".equalsIgnoreCase(format);
+    if (!csv && !"ndjson".equalsIgnoreCase(format)) {
+      throw new BadRequestException(String.format("Unsupported format %s",format));
+    }
+    StreamingOutput body = output -> {
+      var writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8), BUFFER_SIZE);
+      if (csv) {
+        writer.write(CSV_HEADER);
+      }
+      var exported = QuarkusTransaction.requiringNew().timeout((int) this.exportTimeout.toSeconds()).call(() ->
+          this.transactionRepository.export(query, this.exportFetchSize, transaction -> this.write(writer, transaction, csv)));
+      writer.flush();
+      LOGGER.infof("Exported %d transactions from %s to %s as %s",exported,from,to,csv ? "csv" : "ndjson");
+    };
+    return Response.ok(body, csv ? CSV : NDJSON)
+        .header("Content-Disposition", String.format("attachment; filename=\"transactions-%s.%s\"",from.replace(':', '-'),csv ? "csv" : "ndjson"))
+        .build();
+  }
+  @GET
+  @Path("/{id}")
+  public TransactionView get(@PathParam("id") UUID id) {
+    return this.transactionRepository.byId(id).map(TransactionView::from)
+        .orElseThrow(() -> new NotFoundException(String.format("Transaction %s not found",id)));
+  }
+  private TransactionQuery query(String paymentOrderId, String status, String type, String situation, String from, String to) {
+    try {
+      return new TransactionQuery(paymentOrderId == null ? null : UUID.fromString(paymentOrderId),
+          status == null ? null : TransactionStatus.valueOf(status.toUpperCase()),
+          type == null ? null : TransactionType.valueOf(type.toUpperCase()),
+          situation == null ? null : TransactionSituation.valueOf(situation.toUpperCase()),
+          from == null ? null : LocalDateTime.parse(from), to == null ? null : LocalDateTime.parse(to));
+    } catch (RuntimeException exception) {
+      throw new BadRequestException(exception.getMessage());
+    }
+  }
+  private void write(Writer writer, Transaction transaction, boolean csv) {
+    try {
+      if (csv) {
+        writer.write(transaction.getId().toString());
+        writer.write(',');
+        if (transaction.getPaymentOrder() != null) {
+          writer.write(String.valueOf(transaction.getPaymentOrder().getId()));
+        }
+        writer.write(',');
+        writer.write(transaction.getAmount());
+        writer.write(',');
+        writer.write(transaction.getCurrency());
+        writer.write(',');
+        writer.write(String.valueOf(transaction.getStatus()));
+        writer.write(',');
+        writer.write(String.valueOf(transaction.getSituation()));
+        writer.write(',');
+        writer.write(String.valueOf(transaction.getType()));
+        writer.write(',');
+        writer.write(transaction.getCreatedAt().toString());
+      } else {
+        this.rowWriter.writeValue(writer, TransactionView.from(transaction));
+      }
+      writer.write('\n');
+    } catch (IOException exception) {
+      throw new UncheckedIOException(exception);
+    }
+  }
+
+}
@@ -0,0 +1,19 @@
+package com.paymentic.adapter.http.api;
+
+import com.paymentic.domain.shared.PaymentOrderId;
+import com.paymentic.domain.transaction.Transaction;
+import com.paymentic.domain.transaction.TransactionSituation;
+import com.paymentic.domain.transaction.TransactionStatus;
+import com.paymentic.domain.transaction.TransactionType;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public record TransactionView(UUID id, PaymentOrderId paymentOrder, String amount, String currency,
+                              LocalDateTime createdAt, TransactionStatus status, TransactionSituation situation,
+                              TransactionType type) {
+  public static TransactionView from(Transaction transaction){
+    return new TransactionView(transaction.getId(), transaction.getPaymentOrder(), transaction.getAmount(), transaction.getCurrency(),
+        transaction.getCreatedAt(), transaction.getStatus(), transaction.getSituation(), transaction.getType());
+  }
+
+}
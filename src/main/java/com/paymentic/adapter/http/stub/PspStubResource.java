@@ -0,0 +1,89 @@
+package com.paymentic.adapter.http.stub;
+
+import com.paymentic.domain.psp.PaymentRequest;
+import com.paymentic.domain.psp.PaymentResult;
+import io.quarkus.arc.properties.IfBuildProperty;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.ws.rs.NotFoundException;
+import jakarta.ws.rs.POST;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.ServiceUnavailableException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+@Path("/psp-stub/payments")
+@ApplicationScoped
+@IfBuildProperty(name = "payment-executor.psp.stub.enabled", stringValue = "true")
+public class PspStubResource {
+  private final Duration latency;
+  private final Duration batchLatency;
+  private final Duration latencyJitter;
+  private final double slowRatio;
+  private final Duration slowLatency;
+  private final double declineRatio;
+  private final double errorRatio;
+  private final boolean batchSupported;
+  public PspStubResource(@ConfigProperty(name = "payment-executor.psp.stub.latency", defaultValue = "20ms") Duration latency,
+      @ConfigProperty(name = "payment-executor.psp.stub.batch-latency", defaultValue = "25ms") Duration batchLatency,
+      @ConfigProperty(name = "payment-executor.psp.stub.latency-jitter", defaultValue = "0ms") Duration latencyJitter,
+      @ConfigProperty(name = "payment-executor.psp.stub.slow-ratio", defaultValue = "0") double slowRatio,
+      @ConfigProperty(name = "payment-executor.psp.stub.slow-latency", defaultValue = "1s") Duration slowLatency,
+      @ConfigProperty(name = "payment-executor.psp.stub.decline-ratio", defaultValue = "0.1") double declineRatio,
+      @ConfigProperty(name = "payment-executor.psp.stub.error-ratio", defaultValue = "0") double errorRatio,
+      @ConfigProperty(name = "payment-executor.psp.stub.batch-supported", defaultValue = "true") boolean batchSupported) {
+    this.latency = latency;
+    this.batchLatency = batchLatency;
+    this.latencyJitter = latencyJitter;
+    this.slowRatio = slowRatio;
+    this.slowLatency = slowLatency;
+    this.declineRatio = declineRatio;
+    this.errorRatio = errorRatio;
+    this.batchSupported = batchSupported;
+  }
+  @POST
+  public CompletionStage<PaymentResult> pay(PaymentRequest request) {
+    return this.delayed(this.latency, this::result);
+  }
+  @POST
+  @Path("/batch")
+  public CompletionStage<List<PaymentResult>> payBatch(List<PaymentRequest> requests) {
+    if (!this.batchSupported) {
+      throw new NotFoundException();
+    }
+    return this.delayed(this.batchLatency, () -> {
+      var results = new ArrayList<PaymentResult>(requests.size());
+      for (int i = 0; i < requests.size(); i++) {
+        results.add(this.result());
+      }
+      return results;
+    });
+  }
+  private PaymentResult result() {
+    var status = ThreadLocalRandom.current().nextDouble() < this.declineRatio ? "DECLINED" : "APPROVED";
+    return new PaymentResult(UUID.randomUUID().toString(), status, LocalDateTime.now());
+  }
+  private <T> CompletionStage<T> delayed(Duration delay, Supplier<T> supplier) {
+    var random = ThreadLocalRandom.current();
+    var millis = random.nextDouble() < this.slowRatio ? this.slowLatency.toMillis() : delay.toMillis();
+    if (this.latencyJitter.toMillis() > 0) {
+      millis += random.nextLong(this.latencyJitter.toMillis() + 1);
+    }
+    var failed = random.nextDouble() < this.errorRatio;
+    return CompletableFuture.supplyAsync(() -> {
+      if (failed) {
+        throw new ServiceUnavailableException("PSP stub error");
+      }
+      return supplier.get();
+    }, CompletableFuture.delayedExecutor(millis, TimeUnit.MILLISECONDS));
+  }
+
+}
@@ -0,0 +1,48 @@
+package com.paymentic.adapter.http.stub;
+
+import com.paymentic.infra.avro.AvroSchemas;
+import com.paymentic.infra.avro.AvroSchemas.Subject;
+import io.quarkus.arc.properties.IfBuildProperty;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.NotFoundException;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.PathParam;
+import java.util.List;
+
+@Path("/schema-registry-stub")
+@ApplicationScoped
+@IfBuildProperty(name = "payment-executor.schema-registry.stub.enabled", stringValue = "true")
+public class SchemaRegistryStubResource {
+  @GET
+  @Path("/subjects")
+  public List<String> subjects() {
+    return AvroSchemas.ALL.stream().map(Subject::name).toList();
+  }
+  @GET
+  @Path("/subjects/{subject}/versions")
+  public List<Integer> versions(@PathParam("subject") String subject) {
+    return List.of(this.subject(subject).version());
+  }
+  @GET
+  @Path("/subjects/{subject}/versions/{version}")
+  public SchemaVersion version(@PathParam("subject") String subject, @PathParam("version") String version) {
+    var found = this.subject(subject);
+    if (!"latest".equals(version) && !Integer.toString(found.version()).equals(version)) {
+      throw new NotFoundException(String.format("Version %s not found for subject %s", version, subject));
+    }
+    return new SchemaVersion(found.name(), found.version(), found.id(), found.schema().toString());
+  }
+  @GET
+  @Path("/schemas/ids/{id}")
+  public SchemaString schema(@PathParam("id") int id) {
+    return AvroSchemas.byId(id).map(found -> new SchemaString(found.schema().toString()))
+        .orElseThrow(() -> new NotFoundException(String.format("Schema %d not found", id)));
+  }
+  private Subject subject(String subject) {
+    return AvroSchemas.byName(subject).orElseThrow(() -> new NotFoundException(String.format("Subject %s not found", subject)));
+  }
+  public record SchemaVersion(String subject, int version, int id, String schema) {}
+  public record SchemaString(String schema) {}
+
+}
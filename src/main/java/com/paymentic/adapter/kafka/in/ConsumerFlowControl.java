@@ -0,0 +1,132 @@
+package com.paymentic.adapter.kafka.in;
+
+import com.paymentic.adapter.http.AdaptiveConcurrencyLimit;
+import com.paymentic.adapter.http.CircuitState;
+import com.paymentic.adapter.http.PspCircuitStateChanged;
+import com.paymentic.adapter.http.PspWarmedUp;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+@ApplicationScoped
+public class ConsumerFlowControl {
+  private static final Logger LOGGER = Logger.getLogger(ConsumerFlowControl.class);
+  static final String PAYMENT_CREATED_CHANNEL = "payment-created";
+  static final String REFUND_CREATED_CHANNEL = "refund-created";
+  static final List<String> PAYMENT_RETRY_CHANNELS = List.of("payment-retry-due-1", "payment-retry-due-2", "payment-retry-due-3");
+  static final String PSP_WARM_UP = "PSP warm-up";
+  static final String PSP_CIRCUIT_OPEN = "PSP circuit open";
+  // a channel stays paused while any cause holds it, so the circuit closing does not cut the warm-up short
+  private final Map<String, Set<String>> paused = new ConcurrentHashMap<>();
+  private final Map<String, List<Runnable>> resumeListeners = new ConcurrentHashMap<>();
+  private final Map<String, AdaptiveConcurrencyLimit> limits = new ConcurrentHashMap<>();
+  private final ReentrantLock lock = new ReentrantLock();
+  private final Condition resumed = this.lock.newCondition();
+  public ConsumerFlowControl(MeterRegistry registry,
+      @ConfigProperty(name = "payment-executor.kafka.dispatcher.max-in-flight", defaultValue = "1024") int maxInFlight,
+      @ConfigProperty(name = "payment-executor.kafka.backpressure.initial", defaultValue = "64") int initialLimit,
+      @ConfigProperty(name = "payment-executor.kafka.backpressure.min", defaultValue = "16") int minLimit,
+      @ConfigProperty(name = "payment-executor.kafka.backpressure.latency-threshold", defaultValue = "2s") Duration latencyThreshold,
+      @ConfigProperty(name = "payment-executor.kafka.backpressure.backoff-ratio", defaultValue = "0.9") double backoffRatio,
+      @ConfigProperty(name = "payment-executor.psp.transport.warm-up.connections", defaultValue = "8") int warmUpConnections) {
+    var channels = new ArrayList<String>(List.of(PAYMENT_CREATED_CHANNEL, REFUND_CREATED_CHANNEL));
+    channels.addAll(PAYMENT_RETRY_CHANNELS);
+    for (var channel : channels) {
+      var limit = new AdaptiveConcurrencyLimit(initialLimit, minLimit, maxInFlight, latencyThreshold, backoffRatio);
+      this.limits.put(channel, limit);
+      registry.gauge("payment.executor.kafka.consumer.paused", Tags.of("channel", channel),
+          this, flowControl -> flowControl.isPaused(channel) ? 1 : 0);
+      registry.gauge("payment.executor.kafka.consumer.limit", Tags.of("channel", channel), limit, AdaptiveConcurrencyLimit::limit);
+    }
+    // the channels that call the PSP start paused and only get messages once PspTransport has its connections
+    if (warmUpConnections > 0) {
+      pspChannels().forEach(channel -> this.pause(channel, PSP_WARM_UP));
+    }
+  }
+  void warmedUp(@Observes PspWarmedUp warmedUp){
+    pspChannels().forEach(channel -> this.resume(channel, PSP_WARM_UP));
+  }
+  void circuitChanged(@Observes PspCircuitStateChanged transition){
+    for (var channel : pspChannels()) {
+      if (transition.to() == CircuitState.OPEN) {
+        this.pause(channel, PSP_CIRCUIT_OPEN);
+      } else {
+        this.resume(channel, PSP_CIRCUIT_OPEN);
+      }
+    }
+  }
+  public boolean isPaused(String channel) {
+    return channel != null && this.paused.containsKey(channel);
+  }
+  public AdaptiveConcurrencyLimit limit(String channel) {
+    var limit = this.limits.get(channel);
+    if (limit == null) {
+      throw new IllegalArgumentException(String.format("No in-flight limit for channel %s",channel));
+    }
+    return limit;
+  }
+  public void onResume(String channel, Runnable listener) {
+    this.resumeListeners.computeIfAbsent(channel, ignored -> new CopyOnWriteArrayList<>()).add(listener);
+  }
+  public void awaitResumed(String channel) throws InterruptedException {
+    if (!this.isPaused(channel)) {
+      return;
+    }
+    this.lock.lock();
+    try {
+      while (this.isPaused(channel)) {
+        this.resumed.await();
+      }
+    } finally {
+      this.lock.unlock();
+    }
+  }
+  public void pause(String channel, String reason) {
+    this.lock.lock();
+    try {
+      if (!this.paused.computeIfAbsent(channel, ignored -> ConcurrentHashMap.newKeySet()).add(reason)) {
+        return;
+      }
+    } finally {
+      this.lock.unlock();
+    }
+    LOGGER.warnf("Pausing channel %s: %s",channel,reason);
+  }
+  public void resume(String channel, String reason) {
+    this.lock.lock();
+    try {
+      var causes = this.paused.get(channel);
+      if (causes == null || !causes.remove(reason)) {
+        return;
+      }
+      if (!causes.isEmpty()) {
+        LOGGER.infof("Channel %s no longer paused by %s, still paused by %s",channel,reason,causes);
+        return;
+      }
+      this.paused.remove(channel);
+      this.resumed.signalAll();
+    } finally {
+      this.lock.unlock();
+    }
+    LOGGER.infof("Resuming channel %s: %s is over",channel,reason);
+    this.resumeListeners.getOrDefault(channel, List.of()).forEach(Runnable::run);
+  }
+  private static List<String> pspChannels() {
+    var channels = new ArrayList<String>(List.of(PAYMENT_CREATED_CHANNEL));
+    channels.addAll(PAYMENT_RETRY_CHANNELS);
+    return channels;
+  }
+
+}
@@ -0,0 +1,126 @@
+package com.paymentic.adapter.kafka.in;
+
+import com.paymentic.domain.payment.PaymentOrder;
+import com.paymentic.domain.payment.events.PaymentCreatedEvent;
+import com.paymentic.domain.payment.events.PaymentRetryEvent;
+import com.paymentic.domain.payment.events.RefundCreatedEvent;
+import com.paymentic.domain.shared.Money;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.smallrye.reactive.messaging.ce.IncomingCloudEventMetadata;
+import io.smallrye.reactive.messaging.kafka.api.OutgoingKafkaRecordMetadata;
+import jakarta.enterprise.context.ApplicationScoped;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.CompletionStage;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.eclipse.microprofile.reactive.messaging.Message;
+import org.eclipse.microprofile.reactive.messaging.Metadata;
+import org.jboss.logging.Logger;
+
+@ApplicationScoped
+public class IncomingEventFilter {
+  private static final Logger LOGGER = Logger.getLogger(IncomingEventFilter.class);
+  private static final String DEAD_LETTER_EVENT_ID = "dead-letter-event-id";
+  private static final String DEAD_LETTER_EVENT_TYPE = "dead-letter-event-type";
+  private final Map<String, Counter> rejected = new HashMap<>();
+  public IncomingEventFilter(MeterRegistry registry) {
+    var channels = new ArrayList<String>(List.of(ConsumerFlowControl.PAYMENT_CREATED_CHANNEL, ConsumerFlowControl.REFUND_CREATED_CHANNEL));
+    channels.addAll(ConsumerFlowControl.PAYMENT_RETRY_CHANNELS);
+    for (var channel : channels) {
+      this.rejected.put(channel, registry.counter("payment.executor.kafka.rejected", "channel", channel));
+    }
+  }
+  public String violation(Message<?> message) {
+    IncomingCloudEventMetadata<?> event = message.getMetadata(IncomingCloudEventMetadata.class).orElse(null);
+    if (event == null) {
+      return "Expected a Cloud Event";
+    }
+    if (!isUuid(event.getId())) {
+      return String.format("Cloud Event id %s is not a UUID",event.getId());
+    }
+    if (message.getPayload() == null) {
+      return String.format("Cloud Event %s has no data, or it could not be deserialized",event.getId());
+    }
+    return null;
+  }
+  public String violation(PaymentCreatedEvent paymentCreated) {
+    var transaction = paymentCreated.transaction();
+    if (transaction == null) {
+      return "Payment created event without transaction";
+    }
+    if (transaction.order() == null || transaction.participants() == null || transaction.participants().seller() == null) {
+      return "Payment created event without order or seller";
+    }
+    return paymentOrderViolation(transaction.payment());
+  }
+  public String violation(RefundCreatedEvent refundCreated) {
+    var refund = refundCreated.refund();
+    if (refund == null || refund.id() == null) {
+      return "Refund created event without refund id";
+    }
+    if (!isPositiveMoney(refund.amount(), refund.currency())) {
+      return String.format("Refund %s has an invalid amount %s %s",refund.id(),refund.amount(),refund.currency());
+    }
+    return paymentOrderViolation(refundCreated.payment());
+  }
+  public String violation(PaymentRetryEvent retry) {
+    if (retry.paymentOrder() == null || retry.paymentOrder().id() == null || retry.failedAt() == null || retry.transactionCreatedAt() == null) {
+      return "Payment retry without payment order or failure time";
+    }
+    if (!isUuid(retry.transaction()) || retry.attempt() < 1) {
+      return String.format("Payment retry %d with invalid transaction %s",retry.attempt(),retry.transaction());
+    }
+    return null;
+  }
+  public CompletionStage<Void> reject(String channel, Message<?> message, String violation) {
+    this.rejected.get(channel).increment();
+    LOGGER.warnf("Rejecting message on channel %s: %s",channel,violation);
+    // structured Cloud Events lose their envelope once deserialized: keep id and type next to the dead letter
+    var headers = new RecordHeaders();
+    message.getMetadata(IncomingCloudEventMetadata.class).ifPresent(event -> {
+      addHeader(headers, DEAD_LETTER_EVENT_ID, event.getId());
+      addHeader(headers, DEAD_LETTER_EVENT_TYPE, event.getType());
+    });
+    return message.nack(new InvalidEventException(violation),
+        Metadata.of(OutgoingKafkaRecordMetadata.builder().withHeaders(headers).build()));
+  }
+  private static void addHeader(RecordHeaders headers, String name, String value) {
+    if (value != null) {
+      headers.add(name, value.getBytes(StandardCharsets.UTF_8));
+    }
+  }
+  private static String paymentOrderViolation(PaymentOrder payment) {
+    if (payment == null || !isUuid(payment.id())) {
+      return String.format("Payment order id %s is not a UUID",payment == null ? null : payment.id());
+    }
+    if (!isPositiveMoney(payment.amount(), payment.currency())) {
+      return String.format("Payment order %s has an invalid amount %s %s",payment.id(),payment.amount(),payment.currency());
+    }
+    return null;
+  }
+  private static boolean isUuid(String value) {
+    if (Objects.isNull(value) || value.length() != 36) {
+      return false;
+    }
+    try {
+      UUID.fromString(value);
+      return true;
+    } catch (IllegalArgumentException exception) {
+      return false;
+    }
+  }
+  private static boolean isPositiveMoney(String amount, String currency) {
+    try {
+      return Money.of(amount, currency).getMinorUnits() > 0;
+    } catch (RuntimeException exception) {
+      return false;
+    }
+  }
+
+}
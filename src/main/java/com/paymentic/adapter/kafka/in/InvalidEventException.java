@@ -0,0 +1,8 @@
+package com.paymentic.adapter.kafka.in;
+
+public class InvalidEventException extends RuntimeException {
+  public InvalidEventException(String message) {
+    super(message);
+  }
+
+}
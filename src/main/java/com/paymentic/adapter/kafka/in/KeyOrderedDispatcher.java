@@ -0,0 +1,133 @@
+package com.paymentic.adapter.kafka.in;
+
+import com.paymentic.adapter.http.AdaptiveConcurrencyLimit;
+import com.paymentic.infra.metrics.StartupTimeline;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.quarkus.virtual.threads.VirtualThreads;
+import jakarta.enterprise.context.Dependent;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.locks.ReentrantLock;
+import org.eclipse.microprofile.reactive.messaging.Message;
+import org.jboss.logging.Logger;
+
+@Dependent
+public class KeyOrderedDispatcher {
+  private static final Logger LOGGER = Logger.getLogger(KeyOrderedDispatcher.class);
+  private static final CompletionStage<Void> ADMITTED = CompletableFuture.completedFuture(null);
+  private final ExecutorService executor;
+  private final ConsumerFlowControl flowControl;
+  private final MeterRegistry registry;
+  private final StartupTimeline startupTimeline;
+  private final Map<String, CompletableFuture<Void>> tails = new ConcurrentHashMap<>();
+  private final Deque<CompletableFuture<Void>> waiting = new ArrayDeque<>();
+  private final ReentrantLock lock = new ReentrantLock();
+  private String channel;
+  private AdaptiveConcurrencyLimit limit;
+  private Timer handling;
+  public KeyOrderedDispatcher(@VirtualThreads ExecutorService executor, ConsumerFlowControl flowControl, MeterRegistry registry,
+      StartupTimeline startupTimeline) {
+    this.executor = executor;
+    this.flowControl = flowControl;
+    this.registry = registry;
+    this.startupTimeline = startupTimeline;
+  }
+  public KeyOrderedDispatcher forChannel(String channel) {
+    return this.forChannel(channel, "single");
+  }
+  public KeyOrderedDispatcher forChannel(String channel, String mode) {
+    this.channel = channel;
+    this.limit = this.flowControl.limit(channel);
+    this.handling = Timer.builder("payment.executor.kafka.handle").tag("channel", channel).tag("mode", mode).register(this.registry);
+    this.registry.gauge("payment.executor.kafka.dispatcher.in-flight", Tags.of("channel", channel), this, KeyOrderedDispatcher::inFlight);
+    this.flowControl.onResume(channel, this::resumed);
+    return this;
+  }
+  public CompletionStage<Void> dispatch(String key, Message<?> message, Runnable work) {
+    var done = new CompletableFuture<Void>();
+    var previous = this.tails.put(key, done);
+    var admission = this.admit();
+    if (previous == null) {
+      this.executor.execute(() -> this.run(key, message, work, done));
+    } else {
+      previous.whenComplete((ignored, error) -> this.executor.execute(() -> this.run(key, message, work, done)));
+    }
+    return admission;
+  }
+  public int inFlight() {
+    return this.limit.inFlight();
+  }
+  private void run(String key, Message<?> message, Runnable work, CompletableFuture<Void> done) {
+    CompletionStage<Void> outcome;
+    var started = System.nanoTime();
+    var failed = false;
+    try {
+      this.flowControl.awaitResumed(this.channel);
+      started = System.nanoTime();
+      this.handling.record(work);
+      this.startupTimeline.handled(this.channel);
+      outcome = message.ack();
+    } catch (Exception exception) {
+      LOGGER.errorf(exception,"Message with key %s failed: %s",key,exception.getMessage());
+      failed = true;
+      outcome = message.nack(exception);
+    }
+    var latency = System.nanoTime() - started;
+    var failure = failed;
+    outcome.whenComplete((ignored, error) -> {
+      this.tails.remove(key, done);
+      done.complete(null);
+      this.release(latency, failure);
+    });
+  }
+  private CompletionStage<Void> admit() {
+    this.lock.lock();
+    try {
+      if (this.limit.admit() && !this.flowControl.isPaused(this.channel)) {
+        return ADMITTED;
+      }
+      var admission = new CompletableFuture<Void>();
+      this.waiting.add(admission);
+      return admission;
+    } finally {
+      this.lock.unlock();
+    }
+  }
+  private void resumed() {
+    CompletableFuture<Void> admission = null;
+    this.lock.lock();
+    try {
+      if (this.limit.available()) {
+        admission = this.waiting.poll();
+      }
+    } finally {
+      this.lock.unlock();
+    }
+    if (admission != null) {
+      admission.complete(null);
+    }
+  }
+  private void release(long latency, boolean failed) {
+    CompletableFuture<Void> admission = null;
+    this.lock.lock();
+    try {
+      this.limit.release(latency, failed);
+      if (this.limit.available() && !this.flowControl.isPaused(this.channel)) {
+        admission = this.waiting.poll();
+      }
+    } finally {
+      this.lock.unlock();
+    }
+    if (admission != null) {
+      admission.complete(null);
+    }
+  }
+
+}
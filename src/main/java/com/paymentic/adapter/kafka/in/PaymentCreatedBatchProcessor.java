@@ -0,0 +1,77 @@
+package com.paymentic.adapter.kafka.in;
+
+import com.paymentic.domain.payment.PaymentOrderReceived;
+import com.paymentic.domain.payment.PaymentOrdersReceived;
+import com.paymentic.domain.payment.events.PaymentCreatedEvent;
+import com.paymentic.infra.events.repository.EventRepository;
+import io.quarkus.arc.properties.IfBuildProperty;
+import io.smallrye.reactive.messaging.ce.IncomingCloudEventMetadata;
+import io.smallrye.reactive.messaging.kafka.KafkaRecordBatch;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Event;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import org.eclipse.microprofile.reactive.messaging.Incoming;
+import org.jboss.logging.Logger;
+
+@ApplicationScoped
+@IfBuildProperty(name = "payment-executor.kafka.batch.enabled", stringValue = "true")
+public class PaymentCreatedBatchProcessor {
+  private static final String PAYMENT_ORDER_CREATED_EVENT_TYPE = "funny-bunny.xyz.risk-management.v1.risk.decision.approved";
+  private static final Logger LOGGER = Logger.getLogger(PaymentCreatedBatchProcessor.class);
+  private final Event<PaymentOrdersReceived> trigger;
+  private final EventRepository eventRepository;
+  private final KeyOrderedDispatcher dispatcher;
+  private final IncomingEventFilter filter;
+  public PaymentCreatedBatchProcessor(Event<PaymentOrdersReceived> trigger,
+      EventRepository eventRepository, KeyOrderedDispatcher dispatcher, IncomingEventFilter filter) {
+    this.trigger = trigger;
+    this.eventRepository = eventRepository;
+    this.dispatcher = dispatcher.forChannel(ConsumerFlowControl.PAYMENT_CREATED_CHANNEL, "batch");
+    this.filter = filter;
+  }
+  @Incoming("payment-created")
+  public CompletionStage<Void> process(KafkaRecordBatch<String, PaymentCreatedEvent> batch) {
+    // one key for the whole channel: batches run one after another, in the order they were polled
+    return this.dispatcher.dispatch(ConsumerFlowControl.PAYMENT_CREATED_CHANNEL, batch, () -> this.handle(batch));
+  }
+  private void handle(KafkaRecordBatch<String, PaymentCreatedEvent> batch) {
+    var events = new ArrayList<PaymentCreatedEvent>(batch.getRecords().size());
+    var ids = new ArrayList<UUID>(batch.getRecords().size());
+    var rejected = new ArrayList<CompletableFuture<Void>>();
+    for (var record : batch) {
+      var violation = this.filter.violation(record);
+      if (violation == null) {
+        var event = record.getMetadata(IncomingCloudEventMetadata.class).orElseThrow();
+        if (!PAYMENT_ORDER_CREATED_EVENT_TYPE.equals(event.getType())) {
+          continue;
+        }
+        violation = this.filter.violation(record.getPayload());
+        if (violation == null) {
+          events.add(record.getPayload());
+          ids.add(UUID.fromString(event.getId()));
+          continue;
+        }
+      }
+      rejected.add(this.filter.reject(ConsumerFlowControl.PAYMENT_CREATED_CHANNEL, record, violation).toCompletableFuture());
+    }
+    // an id repeated inside the batch is handled once: the first record takes it out of the set
+    var handle = new HashSet<>(eventRepository.shouldHandleAll(ids));
+    var payments = new ArrayList<PaymentOrderReceived>(events.size());
+    for (int i = 0; i < events.size(); i++) {
+      if (handle.remove(ids.get(i))){
+        payments.add(PaymentOrderReceived.from(events.get(i).transaction()));
+      }
+    }
+    if (!payments.isEmpty()){
+      LOGGER.debugf("Receiving batch of %d payment created events. Start processing....",payments.size());
+      this.trigger.fire(new PaymentOrdersReceived(payments));
+      LOGGER.infof("Batch of %d payment created events processed.",payments.size());
+    }
+    CompletableFuture.allOf(rejected.toArray(CompletableFuture[]::new)).join();
+  }
+
+}
@@ -3,12 +3,10 @@ package com.paymentic.adapter.kafka.in;
 import com.paymentic.domain.payment.PaymentOrderReceived;
 import com.paymentic.domain.payment.events.PaymentCreatedEvent;
 import com.paymentic.infra.events.repository.EventRepository;
-import io.smallrye.reactive.messaging.annotations.Blocking;
+import io.quarkus.arc.properties.UnlessBuildProperty;
 import io.smallrye.reactive.messaging.ce.IncomingCloudEventMetadata;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.enterprise.event.Event;
-import java.time.LocalDateTime;
-import java.util.Objects;
 import java.util.UUID;
 import java.util.concurrent.CompletionStage;
 import org.eclipse.microprofile.reactive.messaging.Incoming;
@@ -16,34 +14,49 @@ import org.eclipse.microprofile.reactive.messaging.Message;
 import org.jboss.logging.Logger;
 
 @ApplicationScoped
+@UnlessBuildProperty(name = "payment-executor.kafka.batch.enabled", stringValue = "true", enableIfMissing = true)
 public class PaymentCreatedProcessor {
   private static final String PAYMENT_ORDER_CREATED_EVENT_TYPE = "funny-bunny.xyz.risk-management.v1.risk.decision.approved";
   private static final Logger LOGGER = Logger.getLogger(PaymentCreatedProcessor.class);
   private final Event<PaymentOrderReceived> trigger;
   private final EventRepository eventRepository;
+  private final KeyOrderedDispatcher dispatcher;
+  private final IncomingEventFilter filter;
   public PaymentCreatedProcessor(Event<PaymentOrderReceived> trigger,
-      EventRepository eventRepository) {
+      EventRepository eventRepository, KeyOrderedDispatcher dispatcher, IncomingEventFilter filter) {
     this.trigger = trigger;
     this.eventRepository = eventRepository;
+    this.dispatcher = dispatcher.forChannel(ConsumerFlowControl.PAYMENT_CREATED_CHANNEL);
+    this.filter = filter;
   }
-  @Blocking
   @Incoming("payment-created")
   public CompletionStage<Void> process(Message<PaymentCreatedEvent> message) {
-    var event = message.getMetadata(IncomingCloudEventMetadata.class).orElseThrow(() -> new IllegalArgumentException("Expected a Cloud Event"));
+    var violation = this.filter.violation(message);
+    if (violation != null) {
+      return this.filter.reject(ConsumerFlowControl.PAYMENT_CREATED_CHANNEL, message, violation);
+    }
+    var event = message.getMetadata(IncomingCloudEventMetadata.class).orElseThrow();
+    if (!PAYMENT_ORDER_CREATED_EVENT_TYPE.equals(event.getType())) {
+      LOGGER.debugf("Skipping event %s of type %s",event.getId(),event.getType());
+      return message.ack();
+    }
     var paymentCreated = message.getPayload();
-    var handle = eventRepository.shouldHandle(new com.paymentic.infra.events.Event(UUID.fromString(event.getId())));
+    violation = this.filter.violation(paymentCreated);
+    if (violation != null) {
+      return this.filter.reject(ConsumerFlowControl.PAYMENT_CREATED_CHANNEL, message, violation);
+    }
+    return this.dispatcher.dispatch(paymentCreated.transaction().payment().id(), message, () -> this.handle(event, paymentCreated));
+  }
+  private void handle(IncomingCloudEventMetadata<?> event, PaymentCreatedEvent paymentCreated) {
+    var eventId = event.getId();
+    var handle = eventRepository.shouldHandle(new com.paymentic.infra.events.Event(UUID.fromString(eventId)));
     if (handle){
-      if (PAYMENT_ORDER_CREATED_EVENT_TYPE.equals(event.getType())){
-        if (Objects.nonNull(paymentCreated.transaction())){
-          LOGGER.info(String.format("Receiving payment created event. Checkout-Id %s Event-Id %s. Start processing....",paymentCreated.transaction().order().getId().toString(),event.getId()));
-          var payment = new PaymentOrderReceived(UUID.fromString(paymentCreated.transaction().payment().id()),paymentCreated.transaction().payment().amount(),paymentCreated.transaction().payment().currency(),
-              paymentCreated.transaction().payment().status(), LocalDateTime.now(),paymentCreated.transaction().order(),paymentCreated.transaction().participants().seller(),paymentCreated.transaction().participants().buyer());
-          this.trigger.fire(payment);
-          LOGGER.info(String.format("Payment created event processed. Checkout-Id %s Event-Id %s. Start processing....",paymentCreated.transaction().order().getId().toString(),event.getId()));
-        }
-      }
+      var checkoutId = paymentCreated.transaction().order().getId();
+      LOGGER.debugf("Receiving payment created event. Checkout-Id %s Event-Id %s. Start processing....",checkoutId,eventId);
+      var payment = PaymentOrderReceived.from(paymentCreated.transaction());
+      this.trigger.fire(payment);
+      LOGGER.infof("Payment created event processed. Checkout-Id %s Event-Id %s",checkoutId,eventId);
     }
-    return message.ack();
   }
 
 }
@@ -0,0 +1,43 @@
+package com.paymentic.adapter.kafka.in;
+
+import com.paymentic.domain.transaction.PaymentOrderIndex;
+import io.smallrye.common.annotation.Identifier;
+import io.smallrye.reactive.messaging.kafka.KafkaConsumerRebalanceListener;
+import jakarta.enterprise.context.ApplicationScoped;
+import java.util.Collection;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.common.TopicPartition;
+import org.jboss.logging.Logger;
+
+@ApplicationScoped
+@Identifier("payment-order-index")
+public class PaymentOrderIndexRebalanceListener implements KafkaConsumerRebalanceListener {
+  private static final Logger LOGGER = Logger.getLogger(PaymentOrderIndexRebalanceListener.class);
+  private final PaymentOrderIndex paymentOrderIndex;
+  public PaymentOrderIndexRebalanceListener(PaymentOrderIndex paymentOrderIndex) {
+    this.paymentOrderIndex = paymentOrderIndex;
+  }
+  // balances of payment orders whose refunds another pod handled are stale: on revoke the other pod takes over,
+  // on assign this pod takes over from one that may have approved refunds of orders it has cached
+  @Override
+  public void onPartitionsAssigned(Consumer<?, ?> consumer, Collection<TopicPartition> partitions) {
+    this.clear("assigned", partitions);
+  }
+  @Override
+  public void onPartitionsRevoked(Consumer<?, ?> consumer, Collection<TopicPartition> partitions) {
+    this.clear("revoked", partitions);
+  }
+  @Override
+  public void onPartitionsLost(Consumer<?, ?> consumer, Collection<TopicPartition> partitions) {
+    this.clear("lost", partitions);
+  }
+  private void clear(String change, Collection<TopicPartition> partitions) {
+    if (partitions.isEmpty()) {
+      return;
+    }
+    var size = this.paymentOrderIndex.size();
+    this.paymentOrderIndex.clear();
+    LOGGER.infof("Partitions %s %s, dropped %d cached payment order balances",change,partitions,size);
+  }
+
+}
@@ -0,0 +1,97 @@
+package com.paymentic.adapter.kafka.in;
+
+import com.paymentic.domain.payment.PaymentRetryDue;
+import com.paymentic.domain.payment.events.PaymentRetryEvent;
+import com.paymentic.infra.events.repository.EventRepository;
+import io.quarkus.runtime.StartupEvent;
+import io.smallrye.reactive.messaging.ce.IncomingCloudEventMetadata;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Event;
+import jakarta.enterprise.event.Observes;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.eclipse.microprofile.reactive.messaging.Incoming;
+import org.eclipse.microprofile.reactive.messaging.Message;
+import org.jboss.logging.Logger;
+
+@ApplicationScoped
+public class PaymentRetryTierProcessor {
+  private static final Logger LOGGER = Logger.getLogger(PaymentRetryTierProcessor.class);
+  private static final CompletionStage<Void> DUE = CompletableFuture.completedFuture(null);
+  private final Event<PaymentRetryDue> trigger;
+  private final EventRepository eventRepository;
+  private final List<Duration> delays;
+  private final List<KeyOrderedDispatcher> dispatchers;
+  private final IncomingEventFilter filter;
+  private final int attempts;
+  public PaymentRetryTierProcessor(Event<PaymentRetryDue> trigger, EventRepository eventRepository,
+      KeyOrderedDispatcher first, KeyOrderedDispatcher second, KeyOrderedDispatcher third, IncomingEventFilter filter,
+      @ConfigProperty(name = "payment-executor.psp.retry.delays", defaultValue = "1s,10s,60s") List<Duration> delays,
+      @ConfigProperty(name = "payment-executor.psp.retry.attempts", defaultValue = "3") int attempts) {
+    if (delays.size() != ConsumerFlowControl.PAYMENT_RETRY_CHANNELS.size()) {
+      throw new IllegalArgumentException(String.format("Expected %d retry delays, one per retry topic, got %s",
+          ConsumerFlowControl.PAYMENT_RETRY_CHANNELS.size(),delays));
+    }
+    if (attempts < 0 || attempts > ConsumerFlowControl.PAYMENT_RETRY_CHANNELS.size()) {
+      throw new IllegalArgumentException(String.format("Expected 0 to %d retry attempts, one per retry topic, got %d",
+          ConsumerFlowControl.PAYMENT_RETRY_CHANNELS.size(),attempts));
+    }
+    this.trigger = trigger;
+    this.eventRepository = eventRepository;
+    this.delays = List.copyOf(delays);
+    this.dispatchers = List.of(first.forChannel(ConsumerFlowControl.PAYMENT_RETRY_CHANNELS.get(0)),
+        second.forChannel(ConsumerFlowControl.PAYMENT_RETRY_CHANNELS.get(1)),
+        third.forChannel(ConsumerFlowControl.PAYMENT_RETRY_CHANNELS.get(2)));
+    this.filter = filter;
+    this.attempts = attempts;
+  }
+  // creates the bean, and so checks the retry settings, at startup rather than when the first retry has nowhere to go
+  void start(@Observes StartupEvent startup){
+    LOGGER.infof("Payment retries: %d attempts, delays %s",this.attempts,this.delays);
+  }
+  @Incoming("payment-retry-due-1")
+  public CompletionStage<Void> first(Message<PaymentRetryEvent> message) {
+    return this.process(0, message);
+  }
+  @Incoming("payment-retry-due-2")
+  public CompletionStage<Void> second(Message<PaymentRetryEvent> message) {
+    return this.process(1, message);
+  }
+  @Incoming("payment-retry-due-3")
+  public CompletionStage<Void> third(Message<PaymentRetryEvent> message) {
+    return this.process(2, message);
+  }
+  private CompletionStage<Void> process(int tier, Message<PaymentRetryEvent> message) {
+    var violation = this.filter.violation(message);
+    if (violation == null) {
+      violation = this.filter.violation(message.getPayload());
+    }
+    if (violation != null) {
+      return this.filter.reject(ConsumerFlowControl.PAYMENT_RETRY_CHANNELS.get(tier), message, violation);
+    }
+    var event = message.getMetadata(IncomingCloudEventMetadata.class).orElseThrow();
+    var retry = message.getPayload();
+    var wait = Duration.between(Instant.now(), retry.failedAt().plus(this.delays.get(tier)));
+    // a tier topic is in due order, so holding its head back is enough: until the stage completes the channel
+    // gets no demand and the connector pauses all of its partitions. The record stays unacked for the whole
+    // delay, so the tier's throttled.unprocessed-record-max-age.ms must exceed it plus the PSP call
+    var due = wait.isNegative() || wait.isZero() ? DUE
+        : CompletableFuture.runAsync(() -> { }, CompletableFuture.delayedExecutor(wait.toMillis(), TimeUnit.MILLISECONDS));
+    return due.thenCompose(ignored -> this.dispatchers.get(tier).dispatch(retry.paymentOrder().id().toString(), message, () -> this.handle(event, retry)));
+  }
+  private void handle(IncomingCloudEventMetadata<?> event, PaymentRetryEvent retry) {
+    var eventId = event.getId();
+    if (eventRepository.shouldHandle(new com.paymentic.infra.events.Event(UUID.fromString(eventId)))) {
+      LOGGER.debugf("Receiving payment retry %d. Payment-Order-Id %s Event-Id %s",retry.attempt(),retry.paymentOrder().id(),eventId);
+      this.trigger.fire(new PaymentRetryDue(retry));
+      LOGGER.infof("Payment retry %d processed. Payment-Order-Id %s Event-Id %s",retry.attempt(),retry.paymentOrder().id(),eventId);
+    }
+  }
+
+}
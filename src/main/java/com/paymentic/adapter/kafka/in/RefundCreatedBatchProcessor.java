@@ -0,0 +1,78 @@
+package com.paymentic.adapter.kafka.in;
+
+import com.paymentic.domain.payment.RefundReceived;
+import com.paymentic.domain.payment.RefundsReceived;
+import com.paymentic.domain.payment.events.RefundCreatedEvent;
+import com.paymentic.infra.events.repository.EventRepository;
+import io.quarkus.arc.properties.IfBuildProperty;
+import io.smallrye.reactive.messaging.ce.IncomingCloudEventMetadata;
+import io.smallrye.reactive.messaging.kafka.KafkaRecordBatch;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Event;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import org.eclipse.microprofile.reactive.messaging.Incoming;
+import org.jboss.logging.Logger;
+
+@ApplicationScoped
+@IfBuildProperty(name = "payment-executor.kafka.batch.enabled", stringValue = "true")
+public class RefundCreatedBatchProcessor {
+  private static final String REFUND_CREATED_EVENT_TYPE = "funny-bunny.xyz.payment-processing.v1.refund.created";
+  private static final Logger LOGGER = Logger.getLogger(RefundCreatedBatchProcessor.class);
+  private final Event<RefundsReceived> trigger;
+  private final EventRepository eventRepository;
+  private final KeyOrderedDispatcher dispatcher;
+  private final IncomingEventFilter filter;
+  public RefundCreatedBatchProcessor(Event<RefundsReceived> trigger,
+      EventRepository eventRepository, KeyOrderedDispatcher dispatcher, IncomingEventFilter filter) {
+    this.trigger = trigger;
+    this.eventRepository = eventRepository;
+    this.dispatcher = dispatcher.forChannel(ConsumerFlowControl.REFUND_CREATED_CHANNEL, "batch");
+    this.filter = filter;
+  }
+  @Incoming("refund-created")
+  public CompletionStage<Void> process(KafkaRecordBatch<String, RefundCreatedEvent> batch) {
+    // one key for the whole channel: batches run one after another, in the order they were polled
+    return this.dispatcher.dispatch(ConsumerFlowControl.REFUND_CREATED_CHANNEL, batch, () -> this.handle(batch));
+  }
+  private void handle(KafkaRecordBatch<String, RefundCreatedEvent> batch) {
+    var events = new ArrayList<RefundCreatedEvent>(batch.getRecords().size());
+    var ids = new ArrayList<UUID>(batch.getRecords().size());
+    var rejected = new ArrayList<CompletableFuture<Void>>();
+    for (var record : batch) {
+      var violation = this.filter.violation(record);
+      if (violation == null) {
+        var event = record.getMetadata(IncomingCloudEventMetadata.class).orElseThrow();
+        if (!REFUND_CREATED_EVENT_TYPE.equals(event.getType())) {
+          continue;
+        }
+        violation = this.filter.violation(record.getPayload());
+        if (violation == null) {
+          events.add(record.getPayload());
+          ids.add(UUID.fromString(event.getId()));
+          continue;
+        }
+      }
+      rejected.add(this.filter.reject(ConsumerFlowControl.REFUND_CREATED_CHANNEL, record, violation).toCompletableFuture());
+    }
+    // an id repeated inside the batch is handled once: the first record takes it out of the set
+    var handle = new HashSet<>(eventRepository.shouldHandleAll(ids));
+    var refunds = new ArrayList<RefundReceived>(events.size());
+    for (int i = 0; i < events.size(); i++) {
+      var refundCreatedEvent = events.get(i);
+      if (handle.remove(ids.get(i))){
+        refunds.add(new RefundReceived(refundCreatedEvent.refund(),refundCreatedEvent.payment()));
+      }
+    }
+    if (!refunds.isEmpty()){
+      LOGGER.debugf("Receiving batch of %d refund created events. Start processing....",refunds.size());
+      this.trigger.fire(new RefundsReceived(refunds));
+      LOGGER.infof("Batch of %d refund created events processed.",refunds.size());
+    }
+    CompletableFuture.allOf(rejected.toArray(CompletableFuture[]::new)).join();
+  }
+
+}
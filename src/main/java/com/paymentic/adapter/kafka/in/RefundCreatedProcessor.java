@@ -1,49 +1,61 @@
 package com.paymentic.adapter.kafka.in;
 
-import com.paymentic.domain.payment.Refund;
 import com.paymentic.domain.payment.RefundReceived;
 import com.paymentic.domain.payment.events.RefundCreatedEvent;
-import com.paymentic.domain.shared.PaymentOrderId;
 import com.paymentic.infra.events.repository.EventRepository;
-import io.smallrye.reactive.messaging.annotations.Blocking;
+import io.quarkus.arc.properties.UnlessBuildProperty;
 import io.smallrye.reactive.messaging.ce.IncomingCloudEventMetadata;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.enterprise.event.Event;
-import java.time.LocalDateTime;
-import java.util.Objects;
 import java.util.UUID;
 import java.util.concurrent.CompletionStage;
-import org.apache.kafka.common.protocol.types.Field.Str;
 import org.eclipse.microprofile.reactive.messaging.Incoming;
 import org.eclipse.microprofile.reactive.messaging.Message;
 import org.jboss.logging.Logger;
 
 @ApplicationScoped
+@UnlessBuildProperty(name = "payment-executor.kafka.batch.enabled", stringValue = "true", enableIfMissing = true)
 public class RefundCreatedProcessor {
   private static final String REFUND_CREATED_EVENT_TYPE = "funny-bunny.xyz.payment-processing.v1.refund.created";
   private static final Logger LOGGER = Logger.getLogger(RefundCreatedProcessor.class);
   private final Event<RefundReceived> trigger;
   private final EventRepository eventRepository;
+  private final KeyOrderedDispatcher dispatcher;
+  private final IncomingEventFilter filter;
   public RefundCreatedProcessor(Event<RefundReceived> trigger,
-      EventRepository eventRepository) {
+      EventRepository eventRepository, KeyOrderedDispatcher dispatcher, IncomingEventFilter filter) {
     this.trigger = trigger;
     this.eventRepository = eventRepository;
+    this.dispatcher = dispatcher.forChannel(ConsumerFlowControl.REFUND_CREATED_CHANNEL);
+    this.filter = filter;
   }
-  @Blocking
   @Incoming("refund-created")
   public CompletionStage<Void> process(Message<RefundCreatedEvent> message) {
-    var event = message.getMetadata(IncomingCloudEventMetadata.class).orElseThrow(() -> new IllegalArgumentException("Expected a Cloud Event"));
+    var violation = this.filter.violation(message);
+    if (violation != null) {
+      return this.filter.reject(ConsumerFlowControl.REFUND_CREATED_CHANNEL, message, violation);
+    }
+    var event = message.getMetadata(IncomingCloudEventMetadata.class).orElseThrow();
+    if (!REFUND_CREATED_EVENT_TYPE.equals(event.getType())) {
+      LOGGER.debugf("Skipping event %s of type %s",event.getId(),event.getType());
+      return message.ack();
+    }
     var refundCreatedEvent = message.getPayload();
-    var handle = eventRepository.shouldHandle(new com.paymentic.infra.events.Event(UUID.fromString(event.getId())));
+    violation = this.filter.violation(refundCreatedEvent);
+    if (violation != null) {
+      return this.filter.reject(ConsumerFlowControl.REFUND_CREATED_CHANNEL, message, violation);
+    }
+    return this.dispatcher.dispatch(refundCreatedEvent.payment().id(), message, () -> this.handle(event, refundCreatedEvent));
+  }
+  private void handle(IncomingCloudEventMetadata<?> event, RefundCreatedEvent refundCreatedEvent) {
+    var eventId = event.getId();
+    var handle = eventRepository.shouldHandle(new com.paymentic.infra.events.Event(UUID.fromString(eventId)));
     if (handle){
-      if (REFUND_CREATED_EVENT_TYPE.equals(event.getType())){
-        LOGGER.info(String.format("Receiving refund created event. Refund-Id %s Event-Id %s. Start processing....",refundCreatedEvent.refund().id(),event.getId()));
-        var refund = new Refund(refundCreatedEvent.refund().id(), refundCreatedEvent.refund().amount(),refundCreatedEvent.refund().currency(),refundCreatedEvent.refund().cardInfo(),refundCreatedEvent.refund().buyerInfo(),refundCreatedEvent.refund().sellerInfo());
-        this.trigger.fire(new RefundReceived(refund,refundCreatedEvent.payment()));
-        LOGGER.info(String.format("Refund created event processed. Refund-Id %s Event-Id %s. Start processing....",refundCreatedEvent.refund().id(),event.getId()));
-      }
+      var refund = refundCreatedEvent.refund();
+      LOGGER.debugf("Receiving refund created event. Refund-Id %s Event-Id %s. Start processing....",refund.id(),eventId);
+      this.trigger.fire(new RefundReceived(refund,refundCreatedEvent.payment()));
+      LOGGER.infof("Refund created event processed. Refund-Id %s Event-Id %s",refund.id(),eventId);
     }
-    return message.ack();
   }
 
 }
@@ -0,0 +1,108 @@
+package com.paymentic.adapter.kafka.out;
+
+import com.paymentic.domain.payment.events.PaymentOrderStartedEvent;
+import com.paymentic.domain.payment.events.RefundOrderStarted;
+import com.paymentic.domain.shared.BuyerInfo;
+import com.paymentic.domain.shared.SellerInfo;
+import com.paymentic.domain.transaction.events.TransactionProcessedEvent;
+import com.paymentic.infra.avro.AvroSchemas;
+import jakarta.enterprise.context.ApplicationScoped;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Objects;
+import java.util.UUID;
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericDatumWriter;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.avro.io.EncoderFactory;
+
+@ApplicationScoped
+public class AvroEventEncoder {
+  public static final String CONTENT_TYPE = "application/avro";
+  private final Schema paymentOrderStarted = AvroSchemas.PAYMENT_ORDER_STARTED.schema();
+  private final Schema refundOrderStarted = AvroSchemas.REFUND_ORDER_STARTED.schema();
+  private final Schema transactionProcessed = AvroSchemas.TRANSACTION_PROCESSED.schema();
+  private final Schema paymentOrderStartedSeller = nonNull(this.paymentOrderStarted.getField("sellerInfo").schema());
+  private final Schema refundOrderStartedSeller = nonNull(this.refundOrderStarted.getField("sellerInfo").schema());
+  private final Schema transactionProcessedSeller = nonNull(this.transactionProcessed.getField("seller").schema());
+  private final Schema uuid = this.transactionProcessed.getField("transaction").schema();
+  private final Schema buyer = nonNull(this.transactionProcessed.getField("buyer").schema());
+  private final Schema status = this.transactionProcessed.getField("status").schema();
+  private final GenericDatumWriter<GenericRecord> paymentOrderStartedWriter = new GenericDatumWriter<>(this.paymentOrderStarted);
+  private final GenericDatumWriter<GenericRecord> refundOrderStartedWriter = new GenericDatumWriter<>(this.refundOrderStarted);
+  private final GenericDatumWriter<GenericRecord> transactionProcessedWriter = new GenericDatumWriter<>(this.transactionProcessed);
+  public byte[] encode(PaymentOrderStartedEvent event) {
+    var record = new GenericData.Record(this.paymentOrderStarted);
+    record.put("id", event.id());
+    record.put("amount", event.amount());
+    record.put("currency", event.currency());
+    record.put("sellerInfo", seller(this.paymentOrderStartedSeller, event.sellerInfo()));
+    record.put("at", event.at());
+    return write(this.paymentOrderStartedWriter, record);
+  }
+  public byte[] encode(RefundOrderStarted event) {
+    var record = new GenericData.Record(this.refundOrderStarted);
+    record.put("id", event.id());
+    record.put("amount", event.amount());
+    record.put("currency", event.currency());
+    record.put("sellerInfo", seller(this.refundOrderStartedSeller, event.sellerInfo()));
+    record.put("at", event.at());
+    return write(this.refundOrderStartedWriter, record);
+  }
+  public byte[] encode(TransactionProcessedEvent event) {
+    var record = new GenericData.Record(this.transactionProcessed);
+    record.put("transaction", uuid(event.getTransaction().id()));
+    record.put("seller", seller(this.transactionProcessedSeller, event.getSeller()));
+    record.put("payment", uuid(event.getPayment().getId()));
+    record.put("checkoutId", Objects.isNull(event.getCheckoutId()) ? null : uuid(event.getCheckoutId().id()));
+    record.put("refundId", Objects.isNull(event.getRefundId()) ? null : uuid(event.getRefundId().id()));
+    record.put("amount", event.getAmount());
+    record.put("currency", event.getCurrency());
+    record.put("at", micros(event.getAt()));
+    record.put("buyer", buyer(event.getBuyer()));
+    record.put("status", new GenericData.EnumSymbol(this.status, event.getStatus().name()));
+    return write(this.transactionProcessedWriter, record);
+  }
+  private GenericData.Fixed uuid(UUID id) {
+    var bytes = ByteBuffer.allocate(16).putLong(id.getMostSignificantBits()).putLong(id.getLeastSignificantBits()).array();
+    return new GenericData.Fixed(this.uuid, bytes);
+  }
+  private GenericRecord buyer(BuyerInfo buyerInfo) {
+    if (Objects.isNull(buyerInfo)) {
+      return null;
+    }
+    var record = new GenericData.Record(this.buyer);
+    record.put("document", buyerInfo.getDocument());
+    record.put("name", buyerInfo.getName());
+    return record;
+  }
+  private static GenericRecord seller(Schema schema, SellerInfo sellerInfo) {
+    if (Objects.isNull(sellerInfo)) {
+      return null;
+    }
+    var record = new GenericData.Record(schema);
+    record.put("sellerId", sellerInfo.getSellerId());
+    return record;
+  }
+  private static long micros(LocalDateTime at) {
+    return Math.addExact(Math.multiplyExact(at.toEpochSecond(ZoneOffset.UTC), 1_000_000L), at.getNano() / 1_000L);
+  }
+  private static Schema nonNull(Schema union) {
+    return union.getTypes().stream().filter(type -> type.getType() != Schema.Type.NULL).findFirst()
+        .orElseThrow(() -> new IllegalStateException(String.format("Union %s has no non null branch", union)));
+  }
+  private static byte[] write(GenericDatumWriter<GenericRecord> writer, GenericRecord record) {
+    var output = new ByteArrayOutputStream(128);
+    try {
+      writer.write(record, EncoderFactory.get().directBinaryEncoder(output, null));
+    } catch (IOException exception) {
+      throw new IllegalArgumentException(String.format("Event %s could not be encoded", record.getSchema().getFullName()), exception);
+    }
+    return output.toByteArray();
+  }
+
+}
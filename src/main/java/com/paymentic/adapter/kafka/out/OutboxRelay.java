@@ -0,0 +1,152 @@
+package com.paymentic.adapter.kafka.out;
+
+import com.paymentic.infra.ce.CExtensions.Audience;
+import com.paymentic.infra.ce.CExtensions.EventContext;
+import com.paymentic.infra.avro.AvroSchemas;
+import com.paymentic.infra.avro.AvroSchemas.Subject;
+import com.paymentic.infra.ce.ExtensionsBuilder;
+import com.paymentic.infra.outbox.OutboxEvent;
+import com.paymentic.infra.outbox.repository.OutboxRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.runtime.StartupEvent;
+import io.quarkus.virtual.threads.VirtualThreads;
+import io.smallrye.reactive.messaging.MutinyEmitter;
+import io.vertx.core.json.JsonObject;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.event.TransactionPhase;
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.eclipse.microprofile.reactive.messaging.Channel;
+import org.eclipse.microprofile.reactive.messaging.Message;
+import org.eclipse.microprofile.reactive.messaging.OnOverflow;
+import org.jboss.logging.Logger;
+
+@ApplicationScoped
+public class OutboxRelay {
+  private static final Logger LOGGER = Logger.getLogger(OutboxRelay.class);
+  private final OutboxRepository outboxRepository;
+  private final ExecutorService executor;
+  private final Map<String, Route> routes;
+  private final int batchSize;
+  private final Duration linger;
+  private final Duration pollInterval;
+  private final Duration sendTimeout;
+  private final Semaphore wakeUps = new Semaphore(0);
+  private volatile boolean running;
+  public OutboxRelay(OutboxRepository outboxRepository, @VirtualThreads ExecutorService executor, MeterRegistry registry,
+      @Channel("payment-order-started") @OnOverflow(OnOverflow.Strategy.UNBOUNDED_BUFFER) MutinyEmitter<Object> paymentOrderStartedEmitter,
+      @Channel("refund-started") @OnOverflow(OnOverflow.Strategy.UNBOUNDED_BUFFER) MutinyEmitter<Object> refundStartedEmitter,
+      @Channel("transaction-approved") @OnOverflow(OnOverflow.Strategy.UNBOUNDED_BUFFER) MutinyEmitter<Object> transactionApprovedEmitter,
+      @Channel("transaction-failed") @OnOverflow(OnOverflow.Strategy.UNBOUNDED_BUFFER) MutinyEmitter<Object> transactionFailedEmitter,
+      @Channel("payment-retry-1") @OnOverflow(OnOverflow.Strategy.UNBOUNDED_BUFFER) MutinyEmitter<Object> firstRetryEmitter,
+      @Channel("payment-retry-2") @OnOverflow(OnOverflow.Strategy.UNBOUNDED_BUFFER) MutinyEmitter<Object> secondRetryEmitter,
+      @Channel("payment-retry-3") @OnOverflow(OnOverflow.Strategy.UNBOUNDED_BUFFER) MutinyEmitter<Object> thirdRetryEmitter,
+      @ConfigProperty(name = "payment-executor.outbox.batch-size", defaultValue = "500") int batchSize,
+      @ConfigProperty(name = "payment-executor.outbox.linger", defaultValue = "5ms") Duration linger,
+      @ConfigProperty(name = "payment-executor.outbox.poll-interval", defaultValue = "1s") Duration pollInterval,
+      @ConfigProperty(name = "payment-executor.outbox.send-timeout", defaultValue = "30s") Duration sendTimeout,
+      @ConfigProperty(name = "payment-executor.outbox.avro.schema-registry-url", defaultValue = "http://localhost:8086/schema-registry-stub") String schemaRegistryUrl) {
+    this.outboxRepository = outboxRepository;
+    this.executor = executor;
+    var extensions = new ExtensionsBuilder().audience(Audience.EXTERNAL_BOUNDED_CONTEXT).eventContext(EventContext.DOMAIN).build();
+    var template = new OutgoingCloudEventTemplate(extensions);
+    this.routes = Map.of("payment-order-started", Route.of("payment-order-started", paymentOrderStartedEmitter, template,
+            avroTemplate(extensions, schemaRegistryUrl, AvroSchemas.PAYMENT_ORDER_STARTED), registry),
+        "refund-started", Route.of("refund-started", refundStartedEmitter, template,
+            avroTemplate(extensions, schemaRegistryUrl, AvroSchemas.REFUND_ORDER_STARTED), registry),
+        "transaction-approved", Route.of("transaction-approved", transactionApprovedEmitter, template,
+            avroTemplate(extensions, schemaRegistryUrl, AvroSchemas.TRANSACTION_PROCESSED), registry),
+        "transaction-failed", Route.of("transaction-failed", transactionFailedEmitter, template,
+            avroTemplate(extensions, schemaRegistryUrl, AvroSchemas.TRANSACTION_PROCESSED), registry),
+        "payment-retry-1", Route.of("payment-retry-1", firstRetryEmitter, template, null, registry),
+        "payment-retry-2", Route.of("payment-retry-2", secondRetryEmitter, template, null, registry),
+        "payment-retry-3", Route.of("payment-retry-3", thirdRetryEmitter, template, null, registry));
+    this.batchSize = batchSize;
+    this.linger = linger;
+    this.pollInterval = pollInterval;
+    this.sendTimeout = sendTimeout;
+  }
+  void start(@Observes StartupEvent startup){
+    this.running = true;
+    this.executor.execute(this::relay);
+  }
+  void stop(@Observes ShutdownEvent shutdown){
+    this.running = false;
+    this.wakeUps.release();
+  }
+  void stored(@Observes(during = TransactionPhase.AFTER_SUCCESS) OutboxEvent event){
+    this.wakeUps.release();
+  }
+  private void relay(){
+    LOGGER.infof("Outbox relay started. Batch size %d linger %s",this.batchSize,this.linger);
+    while (this.running) {
+      try {
+        // drained before the batch is read: a row committed while the batch is sent keeps its wake-up
+        this.wakeUps.drainPermits();
+        int relayed = QuarkusTransaction.requiringNew().call(this::relayBatch);
+        if (relayed < this.batchSize) {
+          if (this.wakeUps.tryAcquire(this.pollInterval.toMillis(), TimeUnit.MILLISECONDS)) {
+            Thread.sleep(this.linger.toMillis());
+          }
+        }
+      } catch (InterruptedException exception) {
+        Thread.currentThread().interrupt();
+        return;
+      } catch (Exception exception) {
+        LOGGER.errorf(exception,"Outbox relay failed, retrying in %s: %s",this.pollInterval,exception.getMessage());
+        try {
+          Thread.sleep(this.pollInterval.toMillis());
+        } catch (InterruptedException interrupted) {
+          Thread.currentThread().interrupt();
+          return;
+        }
+      }
+    }
+  }
+  private int relayBatch() throws Exception {
+    var events = this.outboxRepository.nextBatch(this.batchSize);
+    if (events.isEmpty()) {
+      return 0;
+    }
+    var sends = new CompletableFuture<?>[events.size()];
+    var ids = new ArrayList<UUID>(events.size());
+    for (int i = 0; i < events.size(); i++) {
+      var event = events.get(i);
+      var route = this.routes.get(event.getChannel());
+      var sample = Timer.start();
+      var message = Objects.nonNull(event.getData())
+          ? Message.<Object>of(event.getData()).addMetadata(route.avro().withId(event.getId().toString()))
+          : Message.<Object>of(new JsonObject(event.getPayload())).addMetadata(route.json().withId(event.getId().toString()));
+      sends[i] = route.emitter().sendMessage(message)
+          .subscribeAsCompletionStage()
+          .whenComplete((ignored, error) -> sample.stop(route.emit()));
+      ids.add(event.getId());
+    }
+    CompletableFuture.allOf(sends).get(this.sendTimeout.toMillis(), TimeUnit.MILLISECONDS);
+    this.outboxRepository.deleteAll(ids);
+    LOGGER.debugf("Outbox relayed %d events",events.size());
+    return events.size();
+  }
+  private static OutgoingCloudEventTemplate avroTemplate(Map<String, Object> extensions, String schemaRegistryUrl, Subject subject) {
+    return new OutgoingCloudEventTemplate(extensions, AvroEventEncoder.CONTENT_TYPE, URI.create(schemaRegistryUrl + subject.path()));
+  }
+  private record Route(MutinyEmitter<Object> emitter, OutgoingCloudEventTemplate json, OutgoingCloudEventTemplate avro, Timer emit) {
+    static Route of(String channel, MutinyEmitter<Object> emitter, OutgoingCloudEventTemplate json, OutgoingCloudEventTemplate avro, MeterRegistry registry) {
+      return new Route(emitter, json, avro, Timer.builder("payment.executor.outbox.emit").tag("channel", channel).register(registry));
+    }
+  }
+
+}
@@ -0,0 +1,27 @@
+package com.paymentic.adapter.kafka.out;
+
+import io.smallrye.reactive.messaging.ce.OutgoingCloudEventMetadata;
+import java.net.URI;
+import java.util.Map;
+
+public final class OutgoingCloudEventTemplate {
+  private final Map<String, Object> extensions;
+  private final String dataContentType;
+  private final URI dataSchema;
+  public OutgoingCloudEventTemplate(Map<String, Object> extensions) {
+    this(extensions, null, null);
+  }
+  public OutgoingCloudEventTemplate(Map<String, Object> extensions, String dataContentType, URI dataSchema) {
+    this.extensions = Map.copyOf(extensions);
+    this.dataContentType = dataContentType;
+    this.dataSchema = dataSchema;
+  }
+  public <T> OutgoingCloudEventMetadata<T> withId(String id) {
+    return OutgoingCloudEventMetadata.<T>builder().withId(id).withDataContentType(this.dataContentType).withDataSchema(this.dataSchema)
+        .withExtensions(this.extensions).build();
+  }
+  public Map<String, Object> extensions() {
+    return extensions;
+  }
+
+}
@@ -0,0 +1,7 @@
+package com.paymentic.adapter.kafka.out;
+
+public enum OutgoingEncoding {
+  JSON,
+  AVRO
+
+}
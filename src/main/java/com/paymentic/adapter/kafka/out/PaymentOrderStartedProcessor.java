@@ -1,34 +1,36 @@
 package com.paymentic.adapter.kafka.out;
 
 import com.paymentic.domain.payment.events.PaymentOrderStartedEvent;
-import com.paymentic.infra.ce.CExtensions.Audience;
-import com.paymentic.infra.ce.CExtensions.EventContext;
-import com.paymentic.infra.ce.ExtensionsBuilder;
-import io.smallrye.reactive.messaging.ce.OutgoingCloudEventMetadata;
+import com.paymentic.infra.outbox.repository.OutboxRepository;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.enterprise.event.Observes;
-import jakarta.enterprise.event.TransactionPhase;
-import org.eclipse.microprofile.reactive.messaging.Channel;
-import org.eclipse.microprofile.reactive.messaging.Emitter;
-import org.eclipse.microprofile.reactive.messaging.Message;
+import jakarta.transaction.Transactional;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.jboss.logging.Logger;
 
 @ApplicationScoped
 public class PaymentOrderStartedProcessor {
   private static final Logger LOGGER = Logger.getLogger(PaymentOrderStartedProcessor.class);
-  private final Emitter<PaymentOrderStartedEvent> paymentOrderStartedEventEmitter;
+  private static final String CHANNEL = "payment-order-started";
+  private final OutboxRepository outboxRepository;
+  private final AvroEventEncoder avroEventEncoder;
+  private final OutgoingEncoding encoding;
 
-  public PaymentOrderStartedProcessor(@Channel("payment-order-started") Emitter<PaymentOrderStartedEvent> paymentOrderStartedEventEmitter) {
-    this.paymentOrderStartedEventEmitter = paymentOrderStartedEventEmitter;
+  public PaymentOrderStartedProcessor(OutboxRepository outboxRepository, AvroEventEncoder avroEventEncoder,
+      @ConfigProperty(name = "payment-executor.outbox.encoding", defaultValue = "json") OutgoingEncoding encoding) {
+    this.outboxRepository = outboxRepository;
+    this.avroEventEncoder = avroEventEncoder;
+    this.encoding = encoding;
   }
-  public void notify(@Observes(during = TransactionPhase.AFTER_SUCCESS) PaymentOrderStartedEvent event){
-    LOGGER.info(String.format("Starting process to pay payment order id %s", event.id()));
-    var metadata = OutgoingCloudEventMetadata.builder()
-        .withExtensions(new ExtensionsBuilder().audience(Audience.EXTERNAL_BOUNDED_CONTEXT).eventContext(
-            EventContext.DOMAIN).build())
-        .build();
-    this.paymentOrderStartedEventEmitter.send(Message.of(event).addMetadata(metadata));
-    LOGGER.info(String.format("Payment order id started %s",event.id()));
+  @Transactional
+  public void notify(@Observes PaymentOrderStartedEvent event){
+    LOGGER.debugf("Starting process to pay payment order id %s", event.id());
+    if (OutgoingEncoding.AVRO.equals(this.encoding)) {
+      this.outboxRepository.store(CHANNEL, this.avroEventEncoder.encode(event));
+    } else {
+      this.outboxRepository.store(CHANNEL, event);
+    }
+    LOGGER.debugf("Payment order id started %s",event.id());
   }
 
 }
@@ -0,0 +1,30 @@
+package com.paymentic.adapter.kafka.out;
+
+import com.paymentic.domain.payment.events.PaymentRetryEvent;
+import com.paymentic.infra.outbox.repository.OutboxRepository;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.transaction.Transactional;
+import java.util.List;
+import org.jboss.logging.Logger;
+
+@ApplicationScoped
+public class PaymentRetryProcessor {
+  private static final Logger LOGGER = Logger.getLogger(PaymentRetryProcessor.class);
+  static final List<String> CHANNELS = List.of("payment-retry-1", "payment-retry-2", "payment-retry-3");
+  private final OutboxRepository outboxRepository;
+  public PaymentRetryProcessor(OutboxRepository outboxRepository) {
+    this.outboxRepository = outboxRepository;
+  }
+  @Transactional
+  public void notify(@Observes PaymentRetryEvent event){
+    if (event.attempt() < 1 || event.attempt() > CHANNELS.size()) {
+      throw new IllegalArgumentException(String.format("No retry topic for attempt %d of payment order %s, at most %d are supported",
+          event.attempt(),event.paymentOrder().id(),CHANNELS.size()));
+    }
+    var channel = CHANNELS.get(event.attempt() - 1);
+    this.outboxRepository.store(channel, event);
+    LOGGER.debugf("Payment order %s stored for retry %d on %s",event.paymentOrder().id(),event.attempt(),channel);
+  }
+
+}
@@ -2,10 +2,20 @@ package com.paymentic.domain.payment;
 
 import com.paymentic.domain.checkout.Checkout;
 import com.paymentic.domain.shared.BuyerInfo;
+import com.paymentic.domain.shared.Money;
 import com.paymentic.domain.shared.SellerInfo;
 import java.time.LocalDateTime;
 import java.util.UUID;
 
 public record PaymentOrderReceived(UUID id, String amount, String currency, PaymentOrderStatus status,
                                    LocalDateTime at, Checkout checkout, SellerInfo seller,
-                                   BuyerInfo buyer) { }
+                                   BuyerInfo buyer) {
+  public static PaymentOrderReceived from(PaymentTransaction transaction){
+    return new PaymentOrderReceived(UUID.fromString(transaction.payment().id()),transaction.payment().amount(),transaction.payment().currency(),
+        transaction.payment().status(), LocalDateTime.now(),transaction.order(),transaction.participants().seller(),transaction.participants().buyer());
+  }
+  public Money money(){
+    return Money.of(this.amount,this.currency);
+  }
+
+}
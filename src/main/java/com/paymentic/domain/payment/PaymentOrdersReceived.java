@@ -0,0 +1,5 @@
+package com.paymentic.domain.payment;
+
+import java.util.List;
+
+public record PaymentOrdersReceived(List<PaymentOrderReceived> paymentOrders) { }
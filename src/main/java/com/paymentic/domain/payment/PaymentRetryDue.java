@@ -0,0 +1,5 @@
+package com.paymentic.domain.payment;
+
+import com.paymentic.domain.payment.events.PaymentRetryEvent;
+
+public record PaymentRetryDue(PaymentRetryEvent retry) { }
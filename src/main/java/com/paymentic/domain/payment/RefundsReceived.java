@@ -0,0 +1,5 @@
+package com.paymentic.domain.payment;
+
+import java.util.List;
+
+public record RefundsReceived(List<RefundReceived> refunds) { }
@@ -0,0 +1,8 @@
+package com.paymentic.domain.payment.events;
+
+import com.paymentic.domain.payment.PaymentOrderReceived;
+import java.time.Instant;
+import java.time.LocalDateTime;
+
+public record PaymentRetryEvent(PaymentOrderReceived paymentOrder, String transaction, LocalDateTime transactionCreatedAt,
+                                int attempt, String reason, Instant failedAt) {}
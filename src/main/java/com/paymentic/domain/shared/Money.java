@@ -0,0 +1,120 @@
+package com.paymentic.domain.shared;
+
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.Transient;
+import java.util.Currency;
+import java.util.Objects;
+
+@Embeddable
+public class Money {
+  private static final int UNKNOWN_CURRENCY_DIGITS = 2;
+  private long minorUnits;
+  private String currency;
+  // the amount as it came in, so outgoing events carry "10" back as "10" and not "10.00"
+  @Transient
+  private String text;
+  public Money(){}
+  public Money(long minorUnits, String currency) {
+    this.minorUnits = minorUnits;
+    this.currency = currency;
+  }
+  public static Money of(String amount, String currency){
+    if (Objects.isNull(amount) || amount.isEmpty()) {
+      throw new IllegalArgumentException("Amount is required");
+    }
+    var digits = fractionDigits(currency);
+    var units = 0L;
+    var scale = -1;
+    var numeric = false;
+    for (int i = 0; i < amount.length(); i++) {
+      var c = amount.charAt(i);
+      if (c == '.' && scale < 0) {
+        scale = 0;
+        continue;
+      }
+      if (c < '0' || c > '9') {
+        throw new IllegalArgumentException(String.format("Invalid amount %s",amount));
+      }
+      numeric = true;
+      if (scale >= 0 && ++scale > digits) {
+        if (c != '0') {
+          throw new IllegalArgumentException(String.format("Amount %s has more than %d decimals for %s",amount,digits,currency));
+        }
+        continue;
+      }
+      units = Math.addExact(Math.multiplyExact(units, 10), c - '0');
+    }
+    if (!numeric) {
+      throw new IllegalArgumentException(String.format("Invalid amount %s",amount));
+    }
+    for (int i = Math.max(scale, 0); i < digits; i++) {
+      units = Math.multiplyExact(units, 10);
+    }
+    var money = new Money(units, currency);
+    money.text = amount;
+    return money;
+  }
+  public static int fractionDigits(String currency){
+    if (Objects.isNull(currency)) {
+      throw new IllegalArgumentException("Currency is required");
+    }
+    try {
+      return Math.max(Currency.getInstance(currency).getDefaultFractionDigits(), 0);
+    } catch (IllegalArgumentException exception) {
+      // codes the JDK does not know yet keep the 2 decimals the migration gave them
+      if (currency.length() == 3 && currency.chars().allMatch(c -> c >= 'A' && c <= 'Z')) {
+        return UNKNOWN_CURRENCY_DIGITS;
+      }
+      throw new IllegalArgumentException(String.format("Invalid currency %s",currency));
+    }
+  }
+  public String amount(){
+    if (Objects.nonNull(this.text)) {
+      return this.text;
+    }
+    var digits = fractionDigits(this.currency);
+    var value = Long.toString(Math.abs(this.minorUnits));
+    if (digits == 0) {
+      return this.minorUnits < 0 ? "-" + value : value;
+    }
+    var builder = new StringBuilder(value.length() + digits + 2);
+    if (this.minorUnits < 0) {
+      builder.append('-');
+    }
+    var integers = value.length() - digits;
+    if (integers <= 0) {
+      builder.append('0').append('.');
+      builder.append("0".repeat(-integers));
+      builder.append(value);
+    } else {
+      builder.append(value, 0, integers).append('.').append(value, integers, value.length());
+    }
+    return builder.toString();
+  }
+  public long getMinorUnits() {
+    return minorUnits;
+  }
+  public String getCurrency() {
+    return currency;
+  }
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    Money money = (Money) o;
+    return minorUnits == money.minorUnits && Objects.equals(currency, money.currency);
+  }
+  @Override
+  public int hashCode() {
+    return Objects.hash(minorUnits, currency);
+  }
+  @Override
+  public String toString() {
+    return amount() + " " + currency;
+  }
+
+}
@@ -0,0 +1,41 @@
+package com.paymentic.domain.transaction;
+
+import com.paymentic.domain.shared.Money;
+import java.util.List;
+
+public record PaymentOrderBalance(TransactionStatus status, String currency, long paidMinorUnits, long refundedMinorUnits, long indexedAt) {
+  public static PaymentOrderBalance paid(Money money, TransactionStatus status, long indexedAt){
+    return new PaymentOrderBalance(status, money.getCurrency(), TransactionStatus.APPROVED.equals(status) ? money.getMinorUnits() : 0, 0, indexedAt);
+  }
+  public static PaymentOrderBalance from(List<PaymentOrderTotal> totals, long indexedAt){
+    TransactionStatus status = null;
+    String currency = null;
+    long paid = 0;
+    long refunded = 0;
+    for (var total : totals) {
+      if (TransactionType.PAYMENT.equals(total.type())) {
+        if (status == null || TransactionStatus.APPROVED.equals(total.status())) {
+          status = total.status();
+          currency = total.currency();
+        }
+        if (TransactionStatus.APPROVED.equals(total.status())) {
+          paid += total.minorUnits();
+        }
+      } else if (TransactionStatus.APPROVED.equals(total.status())) {
+        refunded += total.minorUnits();
+      }
+    }
+    return status == null ? null : new PaymentOrderBalance(status, currency, paid, refunded, indexedAt);
+  }
+  public long refundableMinorUnits(){
+    return this.paidMinorUnits - this.refundedMinorUnits;
+  }
+  public boolean allowsRefund(Money refund){
+    return TransactionStatus.APPROVED.equals(this.status) && this.currency.equals(refund.getCurrency())
+        && refund.getMinorUnits() > 0 && refund.getMinorUnits() <= this.refundableMinorUnits();
+  }
+  public PaymentOrderBalance refunded(Money refund){
+    return new PaymentOrderBalance(this.status, this.currency, this.paidMinorUnits, this.refundedMinorUnits + refund.getMinorUnits(), this.indexedAt);
+  }
+
+}
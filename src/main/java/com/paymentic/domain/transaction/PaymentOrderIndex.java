@@ -0,0 +1,90 @@
+package com.paymentic.domain.transaction;
+
+import com.paymentic.domain.shared.Money;
+import com.paymentic.domain.shared.PaymentOrderId;
+import com.paymentic.domain.transaction.repositories.TransactionRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.enterprise.context.ApplicationScoped;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+@ApplicationScoped
+public class PaymentOrderIndex {
+  private final TransactionRepository transactionRepository;
+  private final Map<UUID, PaymentOrderBalance> balances;
+  private final long maxAge;
+  private final Counter hits;
+  private final Counter misses;
+  private final Counter unknown;
+  public PaymentOrderIndex(TransactionRepository transactionRepository, MeterRegistry registry,
+      @ConfigProperty(name = "payment-executor.payment-order-index.cache-size", defaultValue = "100000") int capacity,
+      @ConfigProperty(name = "payment-executor.payment-order-index.max-age", defaultValue = "1h") Duration maxAge) {
+    this.transactionRepository = transactionRepository;
+    this.maxAge = maxAge.toNanos();
+    this.balances = new LinkedHashMap<>(capacity, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<UUID, PaymentOrderBalance> eldest) {
+        return size() > capacity;
+      }
+    };
+    this.hits = Counter.builder("payment.executor.payment-order-index.lookups").tag("result", "hit").register(registry);
+    this.misses = Counter.builder("payment.executor.payment-order-index.lookups").tag("result", "miss").register(registry);
+    this.unknown = Counter.builder("payment.executor.payment-order-index.lookups").tag("result", "unknown").register(registry);
+    registry.gauge("payment.executor.payment-order-index.size", this, PaymentOrderIndex::size);
+  }
+  public synchronized void paid(PaymentOrderId paymentOrder, Money money, TransactionStatus status) {
+    var balance = PaymentOrderBalance.paid(money, status, System.nanoTime());
+    var previous = this.balances.get(paymentOrder.getId());
+    if (previous != null && previous.currency().equals(balance.currency())) {
+      balance = new PaymentOrderBalance(balance.status(), balance.currency(), balance.paidMinorUnits(), previous.refundedMinorUnits(), balance.indexedAt());
+    }
+    this.balances.put(paymentOrder.getId(), balance);
+  }
+  public TransactionStatus refund(PaymentOrderId paymentOrder, Money refund) {
+    var cached = this.reserve(paymentOrder.getId(), refund);
+    if (cached != null) {
+      this.hits.increment();
+      return cached;
+    }
+    this.misses.increment();
+    var loaded = PaymentOrderBalance.from(this.transactionRepository.paymentOrderTotals(paymentOrder.getId()), System.nanoTime());
+    if (loaded == null) {
+      this.unknown.increment();
+      return TransactionStatus.DECLINED;
+    }
+    synchronized (this) {
+      this.balances.putIfAbsent(paymentOrder.getId(), loaded);
+      return this.reserve(paymentOrder.getId(), refund);
+    }
+  }
+  public synchronized void invalidate(PaymentOrderId paymentOrder) {
+    this.balances.remove(paymentOrder.getId());
+  }
+  // another pod may have refunded these payment orders while it owned their partitions
+  public synchronized void clear() {
+    this.balances.clear();
+  }
+  public synchronized int size() {
+    return this.balances.size();
+  }
+  private synchronized TransactionStatus reserve(UUID paymentOrder, Money refund) {
+    var balance = this.balances.get(paymentOrder);
+    if (balance == null) {
+      return null;
+    }
+    if (System.nanoTime() - balance.indexedAt() > this.maxAge) {
+      this.balances.remove(paymentOrder);
+      return null;
+    }
+    if (!balance.allowsRefund(refund)) {
+      return TransactionStatus.DECLINED;
+    }
+    this.balances.put(paymentOrder, balance.refunded(refund));
+    return TransactionStatus.APPROVED;
+  }
+
+}
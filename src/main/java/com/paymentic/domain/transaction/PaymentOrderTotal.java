@@ -0,0 +1,3 @@
+package com.paymentic.domain.transaction;
+
+public record PaymentOrderTotal(TransactionType type, TransactionStatus status, String currency, long minorUnits) {}
@@ -2,7 +2,9 @@ package com.paymentic.domain.transaction;
 
 import com.paymentic.domain.shared.BuyerInfo;
 import com.paymentic.domain.shared.CardInfo;
+import com.paymentic.domain.shared.Money;
 import com.paymentic.domain.shared.PaymentOrderId;
+import com.paymentic.infra.id.TimeOrderedId;
 import jakarta.persistence.AttributeOverride;
 import jakarta.persistence.AttributeOverrides;
 import jakarta.persistence.Column;
@@ -10,19 +12,26 @@ import jakarta.persistence.Embedded;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
-import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.UUID;
-import org.hibernate.annotations.GenericGenerator;
 
 @Entity(name = "transaction")
+@Table(indexes = {
+    @Index(name = "transaction_totals_idx", columnList = "situation, created_at, currency, status, amount_minor"),
+    @Index(name = "transaction_created_idx", columnList = "created_at, transaction_id"),
+    @Index(name = "transaction_payment_order_idx", columnList = "payment_order_id, created_at, transaction_id"),
+    @Index(name = "transaction_status_idx", columnList = "status, created_at, transaction_id"),
+    @Index(name = "transaction_type_idx", columnList = "type, created_at, transaction_id")
+})
 public class Transaction {
 
   @Id
   @Column(name = "transaction_id")
-  @GeneratedValue(generator = "UUID")
-  @GenericGenerator(name = "UUID", strategy = "org.hibernate.id.UUIDGenerator")
+  @TimeOrderedId
   private UUID id;
 
   @Embedded
@@ -30,8 +39,12 @@ public class Transaction {
       @AttributeOverride(name="id",column=@Column(name="payment_order_id"))
   })
   private PaymentOrderId paymentOrder;
-  private String amount;
-  private String currency;
+  @Embedded
+  @AttributeOverrides({
+      @AttributeOverride(name="minorUnits",column=@Column(name="amount_minor")),
+      @AttributeOverride(name="currency",column=@Column(name="currency",length=3))
+  })
+  private Money money;
   @Embedded
   @AttributeOverrides({
       @AttributeOverride(name="document",column=@Column(name="buyer_info_document")),
@@ -53,12 +66,11 @@ public class Transaction {
   @Enumerated(value = EnumType.STRING)
   private TransactionType type;
   public Transaction(){}
-  public Transaction(PaymentOrderId paymentOrder, String amount, String currency,
+  public Transaction(PaymentOrderId paymentOrder, Money money,
       BuyerInfo buyerInfo,
       CardInfo cardInfo, LocalDateTime createdAt, TransactionStatus status,TransactionSituation situation,TransactionType type){
     this.paymentOrder = paymentOrder;
-    this.amount = amount;
-    this.currency = currency;
+    this.money = money;
     this.buyerInfo = buyerInfo;
     this.cardInfo = cardInfo;
     this.createdAt = createdAt;
@@ -66,14 +78,14 @@ public class Transaction {
     this.situation = situation;
     this.type = type;
   }
-  public static Transaction newTransactionReceived(PaymentOrderId paymentOrder, String amount, String currency,
+  public static Transaction newTransactionReceived(PaymentOrderId paymentOrder, Money money,
       BuyerInfo buyerInfo, CardInfo cardInfo,TransactionType type){
-    return new Transaction(paymentOrder,amount,currency,buyerInfo,cardInfo,LocalDateTime.now(),TransactionStatus.UNDEFINED,TransactionSituation.RECEIVED,type);
+    return new Transaction(paymentOrder,money,buyerInfo,cardInfo,LocalDateTime.now().truncatedTo(ChronoUnit.MICROS),TransactionStatus.UNDEFINED,TransactionSituation.RECEIVED,type);
   }
 
-  public static Transaction newTransactionProcessed(PaymentOrderId paymentOrder, String amount, String currency,
+  public static Transaction newTransactionProcessed(PaymentOrderId paymentOrder, Money money,
       BuyerInfo buyerInfo, CardInfo cardInfo,String result,TransactionType type){
-    return new Transaction(paymentOrder,amount,currency,buyerInfo,cardInfo,LocalDateTime.now(),TransactionStatus.valueOf(result.toUpperCase()),
+    return new Transaction(paymentOrder,money,buyerInfo,cardInfo,LocalDateTime.now().truncatedTo(ChronoUnit.MICROS),TransactionStatus.valueOf(result.toUpperCase()),
         TransactionSituation.PROCESSED,type);
   }
   public UUID getId() {
@@ -82,11 +94,14 @@ public class Transaction {
   public PaymentOrderId getPaymentOrder() {
     return paymentOrder;
   }
+  public Money getMoney() {
+    return money;
+  }
   public String getAmount() {
-    return amount;
+    return money.amount();
   }
   public String getCurrency() {
-    return currency;
+    return money.getCurrency();
   }
   public BuyerInfo getBuyerInfo() {
     return buyerInfo;
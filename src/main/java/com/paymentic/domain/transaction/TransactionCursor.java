@@ -0,0 +1,30 @@
+package com.paymentic.domain.transaction;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+public record TransactionCursor(LocalDateTime createdAt, UUID id) {
+  private static final char SEPARATOR = '|';
+  public static TransactionCursor of(Transaction transaction){
+    return new TransactionCursor(transaction.getCreatedAt(), transaction.getId());
+  }
+  public static TransactionCursor decode(String cursor){
+    try {
+      var value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+      int separator = value.indexOf(SEPARATOR);
+      if (separator < 0) {
+        throw new IllegalArgumentException(String.format("Invalid cursor %s",cursor));
+      }
+      return new TransactionCursor(LocalDateTime.parse(value.substring(0, separator)), UUID.fromString(value.substring(separator + 1)));
+    } catch (DateTimeParseException exception) {
+      throw new IllegalArgumentException(String.format("Invalid cursor %s",cursor), exception);
+    }
+  }
+  public String encode(){
+    return Base64.getUrlEncoder().withoutPadding().encodeToString((this.createdAt.toString() + SEPARATOR + this.id).getBytes(StandardCharsets.UTF_8));
+  }
+
+}
@@ -1,5 +1,11 @@
 package com.paymentic.domain.transaction;
 
+import com.paymentic.infra.id.UuidV7;
 import java.util.UUID;
 
-public record TransactionId(UUID id) {}
+public record TransactionId(UUID id) {
+  public static TransactionId next(){
+    return new TransactionId(UuidV7.next());
+  }
+
+}
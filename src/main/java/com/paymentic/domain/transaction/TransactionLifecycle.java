@@ -0,0 +1,67 @@
+package com.paymentic.domain.transaction;
+
+import com.paymentic.domain.transaction.repositories.TransactionRepository;
+import com.paymentic.domain.transaction.repositories.TransactionStateChangeRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.enterprise.context.ApplicationScoped;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+@ApplicationScoped
+public class TransactionLifecycle {
+  private final TransactionRepository transactionRepository;
+  private final TransactionStateChangeRepository stateChangeRepository;
+  private final TransactionPersistenceMode mode;
+  private final boolean history;
+  private final Timer receivedPersist;
+  private final Timer processedPersist;
+  public TransactionLifecycle(TransactionRepository transactionRepository, TransactionStateChangeRepository stateChangeRepository,
+      @ConfigProperty(name = "payment-executor.transaction.persistence-mode", defaultValue = "append") TransactionPersistenceMode mode,
+      @ConfigProperty(name = "payment-executor.transaction.state-history.enabled", defaultValue = "false") boolean history,
+      MeterRegistry registry) {
+    this.transactionRepository = transactionRepository;
+    this.stateChangeRepository = stateChangeRepository;
+    this.mode = mode;
+    this.history = history;
+    this.receivedPersist = Timer.builder("payment.executor.transaction.persist").tag("situation", "received").register(registry);
+    this.processedPersist = Timer.builder("payment.executor.transaction.persist").tag("situation", "processed").register(registry);
+  }
+  public Transaction received(Transaction transaction){
+    return this.receivedPersist.record(() -> {
+      this.transactionRepository.persist(transaction);
+      this.record(transaction.getId(), transaction.getSituation(), transaction.getStatus());
+      this.transactionRepository.flush();
+      return transaction;
+    });
+  }
+  public Optional<Transaction> pending(UUID transaction, LocalDateTime createdAt){
+    return this.transactionRepository.received(transaction, createdAt);
+  }
+  public TransactionId processed(Transaction received, TransactionStatus status){
+    return this.processedPersist.record(() -> this.process(received, status));
+  }
+  private TransactionId process(Transaction received, TransactionStatus status){
+    TransactionId processed;
+    if (this.mode == TransactionPersistenceMode.UPDATE) {
+      if (!this.transactionRepository.markProcessed(received, status)) {
+        throw new IllegalStateException(String.format("Transaction %s is not in situation RECEIVED",received.getId()));
+      }
+      processed = new TransactionId(received.getId());
+    } else {
+      processed = this.transactionRepository.store(Transaction.newTransactionProcessed(received.getPaymentOrder(),received.getMoney(),
+          received.getBuyerInfo(),received.getCardInfo(),status.name(),received.getType()));
+    }
+    this.record(processed.id(), TransactionSituation.PROCESSED, status);
+    this.transactionRepository.flush();
+    return processed;
+  }
+  private void record(UUID transaction, TransactionSituation situation, TransactionStatus status){
+    if (this.history) {
+      this.stateChangeRepository.persist(new TransactionStateChange(transaction, situation, status));
+    }
+  }
+
+}
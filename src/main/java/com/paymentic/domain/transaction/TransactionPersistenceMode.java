@@ -0,0 +1,6 @@
+package com.paymentic.domain.transaction;
+
+public enum TransactionPersistenceMode {
+  APPEND,
+  UPDATE
+}
@@ -0,0 +1,9 @@
+package com.paymentic.domain.transaction;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public record TransactionQuery(UUID paymentOrder, TransactionStatus status, TransactionType type,
+                               TransactionSituation situation, LocalDateTime from, LocalDateTime to) {
+
+}
@@ -0,0 +1,53 @@
+package com.paymentic.domain.transaction;
+
+import com.paymentic.infra.id.TimeOrderedId;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Entity(name = "transaction_state_history")
+@Table(indexes = @Index(name = "transaction_state_history_transaction_idx", columnList = "transaction_id"))
+public class TransactionStateChange {
+
+  @Id
+  @Column(name = "state_change_id")
+  @TimeOrderedId
+  private UUID id;
+  @Column(name = "transaction_id")
+  private UUID transaction;
+  @Enumerated(value = EnumType.STRING)
+  private TransactionSituation situation;
+  @Enumerated(value = EnumType.STRING)
+  private TransactionStatus status;
+  @Column(name = "changed_at")
+  private LocalDateTime changedAt;
+  public TransactionStateChange(){}
+  public TransactionStateChange(UUID transaction, TransactionSituation situation, TransactionStatus status) {
+    this.transaction = transaction;
+    this.situation = situation;
+    this.status = status;
+    this.changedAt = LocalDateTime.now();
+  }
+  public UUID getId() {
+    return id;
+  }
+  public UUID getTransaction() {
+    return transaction;
+  }
+  public TransactionSituation getSituation() {
+    return situation;
+  }
+  public TransactionStatus getStatus() {
+    return status;
+  }
+  public LocalDateTime getChangedAt() {
+    return changedAt;
+  }
+
+}
@@ -0,0 +1,10 @@
+package com.paymentic.domain.transaction;
+
+import com.paymentic.domain.shared.Money;
+
+public record TransactionTotal(String currency, TransactionStatus status, long count, long minorUnits) {
+  public Money total(){
+    return new Money(this.minorUnits, this.currency);
+  }
+
+}
@@ -1,7 +1,10 @@
 package com.paymentic.domain.transaction.events;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonUnwrapped;
 import com.paymentic.domain.shared.BuyerInfo;
 import com.paymentic.domain.shared.CheckoutId;
+import com.paymentic.domain.shared.Money;
 import com.paymentic.domain.shared.PaymentOrderId;
 import com.paymentic.domain.shared.RefundId;
 import com.paymentic.domain.shared.SellerInfo;
@@ -18,38 +21,35 @@ public class TransactionProcessedEvent {
   private final PaymentOrderId payment;
   private CheckoutId checkoutId;
   private RefundId refundId;
-  private final String amount;
-  private final String currency;
+  private final Money money;
   private final LocalDateTime at;
   private final BuyerInfo buyer;
   private final TransactionStatus status;
-  public TransactionProcessedEvent(TransactionId transaction, SellerInfo seller, PaymentOrderId payment, CheckoutId checkoutId, String amount, String currency, LocalDateTime at, BuyerInfo buyer, TransactionStatus status) {
+  public TransactionProcessedEvent(TransactionId transaction, SellerInfo seller, PaymentOrderId payment, CheckoutId checkoutId, Money money, LocalDateTime at, BuyerInfo buyer, TransactionStatus status) {
     this.transaction = transaction;
     this.seller = seller;
     this.payment = payment;
     this.checkoutId = checkoutId;
-    this.amount = amount;
-    this.currency = currency;
+    this.money = money;
     this.at = at;
     this.buyer = buyer;
     this.status = status;
   }
-  public TransactionProcessedEvent(TransactionId transaction, SellerInfo seller, PaymentOrderId payment, RefundId refundId, String amount, String currency, LocalDateTime at, BuyerInfo buyer, TransactionStatus status) {
+  public TransactionProcessedEvent(TransactionId transaction, SellerInfo seller, PaymentOrderId payment, RefundId refundId, Money money, LocalDateTime at, BuyerInfo buyer, TransactionStatus status) {
     this.transaction = transaction;
     this.seller = seller;
     this.payment = payment;
     this.refundId = refundId;
-    this.amount = amount;
-    this.currency = currency;
+    this.money = money;
     this.at = at;
     this.buyer = buyer;
     this.status = status;
   }
-  public static TransactionProcessedEvent ofCheckout(TransactionId transaction, SellerInfo seller, PaymentOrderId payment, CheckoutId checkoutId, String amount, String currency, LocalDateTime at, BuyerInfo buyer, TransactionStatus status) {
-    return new TransactionProcessedEvent(transaction, seller, payment, checkoutId, amount, currency, at, buyer, status);
+  public static TransactionProcessedEvent ofCheckout(TransactionId transaction, SellerInfo seller, PaymentOrderId payment, CheckoutId checkoutId, Money money, LocalDateTime at, BuyerInfo buyer, TransactionStatus status) {
+    return new TransactionProcessedEvent(transaction, seller, payment, checkoutId, money, at, buyer, status);
   }
-  public static TransactionProcessedEvent ofRefund(TransactionId transaction, SellerInfo seller, PaymentOrderId payment, RefundId refundId, String amount, String currency, LocalDateTime at, BuyerInfo buyer, TransactionStatus status) {
-    return new TransactionProcessedEvent(transaction, seller, payment, refundId, amount, currency, at, buyer, status);
+  public static TransactionProcessedEvent ofRefund(TransactionId transaction, SellerInfo seller, PaymentOrderId payment, RefundId refundId, Money money, LocalDateTime at, BuyerInfo buyer, TransactionStatus status) {
+    return new TransactionProcessedEvent(transaction, seller, payment, refundId, money, at, buyer, status);
   }
   public TransactionId getTransaction() {
     return transaction;
@@ -63,11 +63,18 @@ public class TransactionProcessedEvent {
   public CheckoutId getCheckoutId() {
     return checkoutId;
   }
+  // written flat as "amount" and "currency" by MoneyModule, the same fields the event always had
+  @JsonUnwrapped
+  public Money getMoney() {
+    return money;
+  }
+  @JsonIgnore
   public String getAmount() {
-    return amount;
+    return money.amount();
   }
+  @JsonIgnore
   public String getCurrency() {
-    return currency;
+    return money.getCurrency();
   }
   public LocalDateTime getAt() {
     return at;
@@ -1,58 +1,175 @@
 package com.paymentic.domain.transaction.listeners;
 
-import com.paymentic.adapter.http.PspRestClient;
+import com.paymentic.adapter.http.PspGateway;
+import com.paymentic.adapter.http.PspUnavailableException;
 import com.paymentic.domain.payment.PaymentOrderReceived;
+import com.paymentic.domain.payment.PaymentOrdersReceived;
+import com.paymentic.domain.payment.PaymentRetryDue;
 import com.paymentic.domain.payment.events.PaymentOrderStartedEvent;
+import com.paymentic.domain.payment.events.PaymentRetryEvent;
 import com.paymentic.domain.psp.PaymentRequest;
+import com.paymentic.domain.psp.PaymentResult;
 import com.paymentic.domain.shared.CheckoutId;
 import com.paymentic.domain.shared.PaymentOrderId;
+import com.paymentic.domain.transaction.PaymentOrderIndex;
 import com.paymentic.domain.transaction.Transaction;
-import com.paymentic.domain.transaction.TransactionId;
+import com.paymentic.domain.transaction.TransactionLifecycle;
+import com.paymentic.domain.transaction.TransactionStatus;
 import com.paymentic.domain.transaction.TransactionType;
 import com.paymentic.domain.transaction.events.TransactionProcessedEvent;
-import com.paymentic.domain.transaction.repositories.TransactionRepository;
+import io.quarkus.narayana.jta.QuarkusTransaction;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.enterprise.event.Event;
 import jakarta.enterprise.event.Observes;
-import jakarta.transaction.Transactional;
+import java.time.Instant;
 import java.time.LocalDateTime;
-import org.eclipse.microprofile.rest.client.inject.RestClient;
+import java.util.ArrayList;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.jboss.logging.Logger;
 
 @ApplicationScoped
 public class PaymentOrderReceivedListener {
   private static final Logger LOGGER = Logger.getLogger(PaymentOrderReceivedListener.class);
-  private final TransactionRepository transactionRepository;
-  private final PspRestClient pspRestClient;
+  private final TransactionLifecycle transactionLifecycle;
+  private final PspGateway pspGateway;
   private final Event<TransactionProcessedEvent> transactionTrigger;
   private final Event<PaymentOrderStartedEvent> orderStartedTrigger;
+  private final Event<PaymentRetryEvent> retryTrigger;
+  private final PaymentOrderIndex paymentOrderIndex;
+  private final int retryAttempts;
 
-  public PaymentOrderReceivedListener(TransactionRepository transactionRepository,
-      @RestClient PspRestClient pspRestClient,
+  public PaymentOrderReceivedListener(TransactionLifecycle transactionLifecycle,
+      PspGateway pspGateway,
       Event<TransactionProcessedEvent> trigger,
-      Event<PaymentOrderStartedEvent> orderStartedTrigger) {
-    this.transactionRepository = transactionRepository;
-    this.pspRestClient = pspRestClient;
+      Event<PaymentOrderStartedEvent> orderStartedTrigger,
+      Event<PaymentRetryEvent> retryTrigger,
+      PaymentOrderIndex paymentOrderIndex,
+      @ConfigProperty(name = "payment-executor.psp.retry.attempts", defaultValue = "3") int retryAttempts) {
+    this.transactionLifecycle = transactionLifecycle;
+    this.pspGateway = pspGateway;
     this.transactionTrigger = trigger;
     this.orderStartedTrigger = orderStartedTrigger;
+    this.retryTrigger = retryTrigger;
+    this.paymentOrderIndex = paymentOrderIndex;
+    this.retryAttempts = retryAttempts;
   }
-  @Transactional
   void paymentOrderReceived(@Observes PaymentOrderReceived paymentOrder){
-    LOGGER.info("Payment Order received starting process....");
-    var transactionReceived = Transaction.newTransactionReceived(new PaymentOrderId(paymentOrder.id()),paymentOrder.amount(),paymentOrder.currency(),paymentOrder.buyer(),paymentOrder.checkout().getPaymentType(), TransactionType.PAYMENT);
-    this.transactionRepository.persist(transactionReceived);
-    LOGGER.info("Triggering order started..");
+    LOGGER.debugf("Payment Order %s received starting process....",paymentOrder.id());
+    var transactionReceived = QuarkusTransaction.requiringNew().call(() -> this.received(paymentOrder));
+    this.pay(paymentOrder,transactionReceived,0);
+  }
+  void paymentRetryDue(@Observes PaymentRetryDue due){
+    var retry = due.retry();
+    var paymentOrder = retry.paymentOrder();
+    LOGGER.debugf("Payment Order %s retry %d after: %s",paymentOrder.id(),retry.attempt(),retry.reason());
+    var transactionReceived = QuarkusTransaction.requiringNew().call(() ->
+        this.transactionLifecycle.pending(UUID.fromString(retry.transaction()),retry.transactionCreatedAt()));
+    if (transactionReceived.isEmpty()) {
+      LOGGER.warnf("Payment Order %s retry %d skipped, transaction %s is no longer pending",paymentOrder.id(),retry.attempt(),retry.transaction());
+      return;
+    }
+    this.pay(paymentOrder,transactionReceived.get(),retry.attempt());
+  }
+  void paymentOrdersReceived(@Observes PaymentOrdersReceived paymentOrders){
+    LOGGER.debugf("Batch of %d payment orders received starting process....",paymentOrders.paymentOrders().size());
+    var transactionsReceived = QuarkusTransaction.requiringNew().call(() -> paymentOrders.paymentOrders().stream().map(this::received).toList());
+    LOGGER.debug("Calling PSP integration...");
+    var paymentResults = new ArrayList<CompletableFuture<PaymentResult>>(paymentOrders.paymentOrders().size());
+    for (var paymentOrder : paymentOrders.paymentOrders()) {
+      paymentResults.add(this.call(paymentOrder));
+    }
+    CompletableFuture.allOf(paymentResults.toArray(CompletableFuture[]::new)).exceptionally(error -> null).join();
+    LOGGER.debug("PSP executed!!!");
+    var statuses = QuarkusTransaction.requiringNew().call(() -> {
+      var processed = new ArrayList<TransactionStatus>(paymentResults.size());
+      for (int i = 0; i < paymentResults.size(); i++) {
+        var paymentResult = paymentResults.get(i);
+        processed.add(paymentResult.isCompletedExceptionally() ? null
+            : this.processed(paymentOrders.paymentOrders().get(i),transactionsReceived.get(i),status(paymentResult.join())));
+      }
+      return processed;
+    });
+    for (int i = 0; i < statuses.size(); i++) {
+      if (statuses.get(i) == null) {
+        this.failed(paymentOrders.paymentOrders().get(i),transactionsReceived.get(i),0,paymentResults.get(i).handle((ignored, error) -> error).join());
+      } else {
+        this.paymentOrderIndex.paid(transactionsReceived.get(i).getPaymentOrder(),transactionsReceived.get(i).getMoney(),statuses.get(i));
+      }
+    }
+    LOGGER.infof("Batch of %d payment orders processed successfully!!!",paymentOrders.paymentOrders().size());
+  }
+  private void pay(PaymentOrderReceived paymentOrder, Transaction transactionReceived, int attempt){
+    LOGGER.debug("Calling PSP integration...");
+    PaymentResult paymentResult;
+    try {
+      paymentResult = this.call(paymentOrder).join();
+    } catch (CompletionException exception) {
+      this.failed(paymentOrder,transactionReceived,attempt,exception);
+      return;
+    }
+    LOGGER.debug("PSP executed successfully!!!");
+    this.completed(paymentOrder,transactionReceived,status(paymentResult));
+    LOGGER.infof("Payment Order %s processed successfully!!!",paymentOrder.id());
+  }
+  private CompletableFuture<PaymentResult> call(PaymentOrderReceived paymentOrder){
+    try {
+      return this.pspGateway.pay(new PaymentRequest(paymentOrder.amount()));
+    } catch (RuntimeException exception) {
+      return CompletableFuture.failedFuture(exception);
+    }
+  }
+  private void failed(PaymentOrderReceived paymentOrder, Transaction transactionReceived, int attempt, Throwable error){
+    var cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    if (attempt == 0 && this.retryAttempts == 0) {
+      throw error instanceof CompletionException completion ? completion : new CompletionException(cause);
+    }
+    // a timeout or an error response may still have charged the buyer, and a retry carries no idempotency key:
+    // only retry calls the gateway rejected before they reached the PSP
+    if (!(cause instanceof PspUnavailableException)) {
+      LOGGER.errorf("PSP call for Payment Order %s ended without a known outcome, closing it as %s: %s",paymentOrder.id(),TransactionStatus.UNDEFINED,cause.getMessage());
+      this.completed(paymentOrder,transactionReceived,TransactionStatus.UNDEFINED);
+      return;
+    }
+    if (attempt < this.retryAttempts) {
+      var retry = new PaymentRetryEvent(paymentOrder,transactionReceived.getId().toString(),transactionReceived.getCreatedAt(),
+          attempt + 1,String.valueOf(cause.getMessage()),Instant.now());
+      QuarkusTransaction.requiringNew().run(() -> this.retryTrigger.fire(retry));
+      LOGGER.warnf("PSP call for Payment Order %s failed, retry %d of %d scheduled: %s",paymentOrder.id(),retry.attempt(),this.retryAttempts,retry.reason());
+      return;
+    }
+    LOGGER.errorf("PSP call for Payment Order %s failed after %d retries, closing it as %s: %s",paymentOrder.id(),attempt,TransactionStatus.UNDEFINED,cause.getMessage());
+    this.completed(paymentOrder,transactionReceived,TransactionStatus.UNDEFINED);
+  }
+  private void completed(PaymentOrderReceived paymentOrder, Transaction transactionReceived, TransactionStatus status){
+    QuarkusTransaction.requiringNew().run(() -> this.processed(paymentOrder,transactionReceived,status));
+    this.paymentOrderIndex.paid(transactionReceived.getPaymentOrder(),transactionReceived.getMoney(),status);
+  }
+  private Transaction received(PaymentOrderReceived paymentOrder){
+    var transactionReceived = this.transactionLifecycle.received(Transaction.newTransactionReceived(new PaymentOrderId(paymentOrder.id()),paymentOrder.money(),paymentOrder.buyer(),paymentOrder.checkout().getPaymentType(), TransactionType.PAYMENT));
+    LOGGER.debug("Triggering order started..");
     this.orderStartedTrigger.fire(new PaymentOrderStartedEvent(paymentOrder.id().toString(),paymentOrder.amount(),paymentOrder.currency(),paymentOrder.seller(),paymentOrder.at().toLocalDate().toString()));
-    LOGGER.info("Order started fired!!!");
-    LOGGER.info("Calling PSP integration...");
-    var paymentResult = this.pspRestClient.pay(new PaymentRequest(paymentOrder.amount()));
-    LOGGER.info("PSP executed successfully!!!");
-    var transactionProcessed = Transaction.newTransactionProcessed(new PaymentOrderId(paymentOrder.id()),paymentOrder.amount(),paymentOrder.currency(),paymentOrder.buyer(),paymentOrder.checkout().getPaymentType(),paymentResult.getStatus(),TransactionType.PAYMENT);
-    this.transactionRepository.persist(transactionProcessed);
-    var event = TransactionProcessedEvent.ofCheckout(new TransactionId(transactionProcessed.getId()),paymentOrder.seller(),new PaymentOrderId(paymentOrder.id()),new CheckoutId(paymentOrder.checkout().getId()),paymentOrder.amount(),paymentOrder.currency(),
-        LocalDateTime.now(),paymentOrder.buyer(),transactionProcessed.getStatus());
+    LOGGER.debug("Order started fired!!!");
+    return transactionReceived;
+  }
+  private TransactionStatus processed(PaymentOrderReceived paymentOrder, Transaction transactionReceived, TransactionStatus status){
+    var transactionId = this.transactionLifecycle.processed(transactionReceived,status);
+    var event = TransactionProcessedEvent.ofCheckout(transactionId,paymentOrder.seller(),new PaymentOrderId(paymentOrder.id()),new CheckoutId(paymentOrder.checkout().getId()),paymentOrder.money(),
+        LocalDateTime.now(),paymentOrder.buyer(),status);
     this.transactionTrigger.fire(event);
-    LOGGER.info("Payment Order processed successfully!!!");
+    return status;
+  }
+  private static TransactionStatus status(PaymentResult paymentResult){
+    var status = paymentResult.getStatus();
+    for (var candidate : TransactionStatus.values()) {
+      if (candidate.name().equalsIgnoreCase(status)) {
+        return candidate;
+      }
+    }
+    LOGGER.warnf("Unknown PSP status %s, recording the transaction as %s",status,TransactionStatus.UNDEFINED);
+    return TransactionStatus.UNDEFINED;
   }
 
 }
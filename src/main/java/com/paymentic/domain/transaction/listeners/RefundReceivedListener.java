@@ -1,20 +1,24 @@
 package com.paymentic.domain.transaction.listeners;
 
 import com.paymentic.domain.payment.RefundReceived;
+import com.paymentic.domain.payment.RefundsReceived;
 import com.paymentic.domain.payment.events.RefundOrderStarted;
 import com.paymentic.domain.shared.CheckoutId;
+import com.paymentic.domain.shared.Money;
 import com.paymentic.domain.shared.PaymentOrderId;
 import com.paymentic.domain.shared.RefundId;
+import com.paymentic.domain.transaction.PaymentOrderIndex;
 import com.paymentic.domain.transaction.Transaction;
-import com.paymentic.domain.transaction.TransactionId;
-import com.paymentic.domain.transaction.TransactionSituation;
+import com.paymentic.domain.transaction.TransactionLifecycle;
 import com.paymentic.domain.transaction.TransactionStatus;
 import com.paymentic.domain.transaction.TransactionType;
 import com.paymentic.domain.transaction.events.TransactionProcessedEvent;
-import com.paymentic.domain.transaction.repositories.TransactionRepository;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.enterprise.event.Event;
 import jakarta.enterprise.event.Observes;
+import jakarta.transaction.Status;
+import jakarta.transaction.Synchronization;
+import jakarta.transaction.TransactionSynchronizationRegistry;
 import jakarta.transaction.Transactional;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -25,36 +29,69 @@ import org.jboss.logging.Logger;
 @ApplicationScoped
 public class RefundReceivedListener {
   private static final Logger LOGGER = Logger.getLogger(RefundReceivedListener.class);
-  private final TransactionRepository transactionRepository;
+  private final TransactionLifecycle transactionLifecycle;
   private final Event<TransactionProcessedEvent> transactionTrigger;
   private final Event<RefundOrderStarted> refundStartedTrigger;
-  public RefundReceivedListener(TransactionRepository transactionRepository,
+  private final PaymentOrderIndex paymentOrderIndex;
+  private final TransactionSynchronizationRegistry synchronizations;
+  public RefundReceivedListener(TransactionLifecycle transactionLifecycle,
       Event<TransactionProcessedEvent> trigger,
-      Event<RefundOrderStarted> refundStartedTrigger) {
-    this.transactionRepository = transactionRepository;
+      Event<RefundOrderStarted> refundStartedTrigger,
+      PaymentOrderIndex paymentOrderIndex,
+      TransactionSynchronizationRegistry synchronizations) {
+    this.transactionLifecycle = transactionLifecycle;
     this.transactionTrigger = trigger;
     this.refundStartedTrigger = refundStartedTrigger;
+    this.paymentOrderIndex = paymentOrderIndex;
+    this.synchronizations = synchronizations;
   }
   @Transactional
   void refundReceived(@Observes RefundReceived refundReceived){
-    LOGGER.info(String.format("Refund %s received starting process....",refundReceived.refund().id()));
-    var transactionReceived = Transaction.newTransactionReceived(new PaymentOrderId(UUID.fromString(refundReceived.paymentOrder().id()))
-        ,refundReceived.refund().amount(),refundReceived.refund().currency(),refundReceived.refund().buyerInfo(),refundReceived.refund().cardInfo(),
-        TransactionType.REFUND);
-    this.transactionRepository.persist(transactionReceived);
-    LOGGER.info(String.format("Triggering refund %s started..",refundReceived.refund().id()));
-    this.refundStartedTrigger.fire(new RefundOrderStarted(refundReceived.refund().id().toString(),refundReceived.refund().amount(),refundReceived.refund().currency(),refundReceived.refund()
+    this.process(refundReceived);
+  }
+  @Transactional
+  void refundsReceived(@Observes RefundsReceived refunds){
+    LOGGER.debugf("Batch of %d refunds received starting process....",refunds.refunds().size());
+    refunds.refunds().forEach(this::process);
+    LOGGER.infof("Batch of %d refunds processed successfully!!!",refunds.refunds().size());
+  }
+  private void process(RefundReceived refundReceived){
+    var refund = refundReceived.refund();
+    var paymentOrderId = new PaymentOrderId(UUID.fromString(refundReceived.paymentOrder().id()));
+    LOGGER.debugf("Refund %s received starting process....",refund.id());
+    var status = this.validate(paymentOrderId, refund.money());
+    var transactionReceived = this.transactionLifecycle.received(Transaction.newTransactionReceived(paymentOrderId
+        ,refund.money(),refund.buyerInfo(),refund.cardInfo(),
+        TransactionType.REFUND));
+    LOGGER.debugf("Triggering refund %s started..",refund.id());
+    this.refundStartedTrigger.fire(new RefundOrderStarted(refund.id().toString(),refund.amount(),refund.currency(),refund
         .sellerInfo(), LocalDate.now().toString()));
-    LOGGER.info(String.format("Refund started %s fired!!!", refundReceived.refund().id()));
-    var transactionProcessed = Transaction.newTransactionProcessed(new PaymentOrderId(UUID.fromString(refundReceived.paymentOrder().id())),refundReceived.refund().amount(),
-        refundReceived.refund().currency(),refundReceived.refund().buyerInfo(),refundReceived.refund().cardInfo(),
-        TransactionStatus.APPROVED.name() ,TransactionType.REFUND);
-    this.transactionRepository.persist(transactionProcessed);
-    var event = TransactionProcessedEvent.ofRefund(new TransactionId(transactionProcessed.getId()),refundReceived.refund()
-            .sellerInfo(), new PaymentOrderId(UUID.fromString(refundReceived.paymentOrder().id())),new RefundId(refundReceived.refund().id()),refundReceived.refund().amount(),refundReceived.refund().currency(),
-        LocalDateTime.now(),refundReceived.refund().buyerInfo(),transactionProcessed.getStatus());
+    LOGGER.debugf("Refund started %s fired!!!", refund.id());
+    var transactionId = this.transactionLifecycle.processed(transactionReceived,status);
+    var event = TransactionProcessedEvent.ofRefund(transactionId,refund
+            .sellerInfo(), paymentOrderId,new RefundId(refund.id()),refund.money(),
+        LocalDateTime.now(),refund.buyerInfo(),status);
     this.transactionTrigger.fire(event);
-    LOGGER.info(String.format("Refund %s processed successfully!!!",refundReceived.refund().id()));
+    LOGGER.infof("Refund %s processed with status %s",refund.id(),status);
+  }
+  private TransactionStatus validate(PaymentOrderId paymentOrderId, Money money){
+    var status = this.paymentOrderIndex.refund(paymentOrderId, money);
+    if (TransactionStatus.APPROVED.equals(status)) {
+      this.synchronizations.registerInterposedSynchronization(new Synchronization() {
+        @Override
+        public void beforeCompletion() {
+        }
+        @Override
+        public void afterCompletion(int outcome) {
+          if (outcome != Status.STATUS_COMMITTED) {
+            paymentOrderIndex.invalidate(paymentOrderId);
+          }
+        }
+      });
+    } else {
+      LOGGER.warnf("Refund of %s on payment order %s declined: payment not approved or not enough refundable amount",money,paymentOrderId.getId());
+    }
+    return status;
   }
 
 }
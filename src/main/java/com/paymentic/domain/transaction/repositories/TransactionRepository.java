@@ -1,15 +1,131 @@
 package com.paymentic.domain.transaction.repositories;
 
+import com.paymentic.domain.transaction.PaymentOrderTotal;
 import com.paymentic.domain.transaction.Transaction;
+import com.paymentic.domain.transaction.TransactionCursor;
 import com.paymentic.domain.transaction.TransactionId;
+import com.paymentic.domain.transaction.TransactionQuery;
+import com.paymentic.domain.transaction.TransactionSituation;
+import com.paymentic.domain.transaction.TransactionStatus;
+import com.paymentic.domain.transaction.TransactionTotal;
+import com.paymentic.infra.id.UuidV7;
 import io.quarkus.hibernate.orm.panache.PanacheRepository;
+import io.quarkus.panache.common.Sort;
 import jakarta.enterprise.context.ApplicationScoped;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.StringJoiner;
+import java.util.UUID;
+import java.util.function.Consumer;
+import org.hibernate.ScrollMode;
+import org.hibernate.StatelessSession;
 
 @ApplicationScoped
 public class TransactionRepository implements PanacheRepository<Transaction> {
+  // in APPEND mode the RECEIVED row stays as it is and PROCESSED is a row of its own, written after it
+  private static final String RECEIVED_NOT_PROCESSED = "from transaction t where t.id = ?1 and t.createdAt = ?2 and t.situation = ?3 "
+      + "and not exists (from transaction p where p.paymentOrder.id = t.paymentOrder.id and p.type = t.type "
+      + "and p.situation = ?4 and p.createdAt >= t.createdAt)";
+  // the id is taken on insert, right after created_at is set, so its timestamp is close to created_at
+  private static final Duration ID_TIME_SLACK = Duration.ofHours(1);
+  private final StatelessSession statelessSession;
+  public TransactionRepository(StatelessSession statelessSession) {
+    this.statelessSession = statelessSession;
+  }
   public TransactionId store(Transaction transaction){
     this.persist(transaction);
     return new TransactionId(transaction.getId());
   }
+  public Optional<Transaction> received(UUID id, LocalDateTime createdAt){
+    return this.find(RECEIVED_NOT_PROCESSED, id, createdAt, TransactionSituation.RECEIVED, TransactionSituation.PROCESSED).firstResultOptional();
+  }
+  public Optional<Transaction> byId(UUID id){
+    if (id.version() != 7) {
+      return this.find("id", id).firstResultOptional();
+    }
+    var at = LocalDateTime.ofInstant(UuidV7.instant(id), ZoneId.systemDefault());
+    return this.find("id = ?1 and createdAt >= ?2 and createdAt <= ?3", id, at.minus(ID_TIME_SLACK), at.plus(ID_TIME_SLACK)).firstResultOptional();
+  }
+  public boolean markProcessed(Transaction transaction, TransactionStatus status){
+    return this.update("situation = ?1, status = ?2 where id = ?3 and createdAt = ?4 and situation = ?5",
+        TransactionSituation.PROCESSED, status, transaction.getId(), transaction.getCreatedAt(), TransactionSituation.RECEIVED) == 1;
+  }
+  public List<Transaction> page(TransactionQuery query, TransactionCursor after, int limit){
+    var params = new HashMap<String, Object>();
+    var where = this.where(query, params);
+    if (after != null) {
+      where.add("(createdAt, id) < (:afterCreatedAt, :afterId)");
+      params.put("afterCreatedAt", after.createdAt());
+      params.put("afterId", after.id());
+    }
+    var sort = Sort.descending("createdAt", "id");
+    var found = params.isEmpty() ? this.findAll(sort) : this.find(where.toString(), sort, params);
+    return found.range(0, limit - 1).list();
+  }
+  public long export(TransactionQuery query, int fetchSize, Consumer<Transaction> sink){
+    var params = new HashMap<String, Object>();
+    var where = this.where(query, params);
+    var hql = "from transaction" + (params.isEmpty() ? "" : " where " + where) + " order by createdAt, id";
+    var select = this.statelessSession.createSelectionQuery(hql, Transaction.class).setFetchSize(fetchSize);
+    params.forEach(select::setParameter);
+    long exported = 0;
+    try (var rows = select.scroll(ScrollMode.FORWARD_ONLY)) {
+      while (rows.next()) {
+        sink.accept(rows.get());
+        exported++;
+      }
+    }
+    return exported;
+  }
+  private StringJoiner where(TransactionQuery query, Map<String, Object> params){
+    var where = new StringJoiner(" and ");
+    if (query.paymentOrder() != null) {
+      where.add("paymentOrder.id = :paymentOrder");
+      params.put("paymentOrder", query.paymentOrder());
+    }
+    if (query.status() != null) {
+      where.add("status = :status");
+      params.put("status", query.status());
+    }
+    if (query.type() != null) {
+      where.add("type = :type");
+      params.put("type", query.type());
+    }
+    if (query.situation() != null) {
+      where.add("situation = :situation");
+      params.put("situation", query.situation());
+    }
+    if (query.from() != null) {
+      where.add("createdAt >= :from");
+      params.put("from", query.from());
+    }
+    if (query.to() != null) {
+      where.add("createdAt < :to");
+      params.put("to", query.to());
+    }
+    return where;
+  }
+  public List<PaymentOrderTotal> paymentOrderTotals(UUID paymentOrder){
+    return this.getEntityManager().createQuery("select new com.paymentic.domain.transaction.PaymentOrderTotal(t.type, t.status, t.money.currency, sum(t.money.minorUnits)) "
+            + "from transaction t where t.paymentOrder.id = ?1 and t.situation = ?2 "
+            + "group by t.type, t.status, t.money.currency", PaymentOrderTotal.class)
+        .setParameter(1, paymentOrder)
+        .setParameter(2, TransactionSituation.PROCESSED)
+        .getResultList();
+  }
+  public List<TransactionTotal> totals(LocalDateTime from, LocalDateTime to){
+    return this.getEntityManager().createQuery("select new com.paymentic.domain.transaction.TransactionTotal(t.money.currency, t.status, count(t), sum(t.money.minorUnits)) "
+            + "from transaction t where t.createdAt >= ?1 and t.createdAt < ?2 and t.situation = ?3 "
+            + "group by t.money.currency, t.status order by t.money.currency, t.status", TransactionTotal.class)
+        .setParameter(1, from)
+        .setParameter(2, to)
+        .setParameter(3, TransactionSituation.PROCESSED)
+        .getResultList();
+  }
 
 }
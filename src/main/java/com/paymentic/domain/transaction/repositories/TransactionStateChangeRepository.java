@@ -0,0 +1,10 @@
+package com.paymentic.domain.transaction.repositories;
+
+import com.paymentic.domain.transaction.TransactionStateChange;
+import io.quarkus.hibernate.orm.panache.PanacheRepository;
+import jakarta.enterprise.context.ApplicationScoped;
+
+@ApplicationScoped
+public class TransactionStateChangeRepository implements PanacheRepository<TransactionStateChange> {
+
+}
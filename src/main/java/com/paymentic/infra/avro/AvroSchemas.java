@@ -0,0 +1,41 @@
+package com.paymentic.infra.avro;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import org.apache.avro.Schema;
+
+public final class AvroSchemas {
+  public static final Subject PAYMENT_ORDER_STARTED = load(1, "avro/payment-order-started.avsc");
+  public static final Subject REFUND_ORDER_STARTED = load(2, "avro/refund-order-started.avsc");
+  public static final Subject TRANSACTION_PROCESSED = load(3, "avro/transaction-processed.avsc");
+  public static final List<Subject> ALL = List.of(PAYMENT_ORDER_STARTED, REFUND_ORDER_STARTED, TRANSACTION_PROCESSED);
+  private AvroSchemas() {
+  }
+  public static Optional<Subject> byName(String name) {
+    return ALL.stream().filter(subject -> subject.name().equals(name)).findFirst();
+  }
+  public static Optional<Subject> byId(int id) {
+    return ALL.stream().filter(subject -> subject.id() == id).findFirst();
+  }
+  private static Subject load(int id, String resource) {
+    try (InputStream input = AvroSchemas.class.getClassLoader().getResourceAsStream(resource)) {
+      if (Objects.isNull(input)) {
+        throw new IllegalStateException(String.format("Avro schema %s not found", resource));
+      }
+      var schema = new Schema.Parser().parse(input);
+      return new Subject(id, schema.getFullName(), 1, schema);
+    } catch (IOException exception) {
+      throw new UncheckedIOException(String.format("Avro schema %s could not be read", resource), exception);
+    }
+  }
+  public record Subject(int id, String name, int version, Schema schema) {
+    public String path() {
+      return String.format("/schemas/ids/%d", this.id);
+    }
+  }
+
+}
@@ -3,6 +3,7 @@ package com.paymentic.infra.events;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
+import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity(name = "payment_executor_event")
@@ -11,6 +12,8 @@ public class Event {
   @Id
   @Column(name = "event_id")
   private UUID id;
+  @Column(name = "received_at", columnDefinition = "timestamp(6) not null default localtimestamp")
+  private LocalDateTime receivedAt;
   public Event(){}
   public Event(UUID id) {
     this.id = id;
@@ -18,5 +21,8 @@ public class Event {
   public UUID getId() {
     return id;
   }
+  public LocalDateTime getReceivedAt() {
+    return receivedAt;
+  }
 
 }
@@ -0,0 +1,27 @@
+package com.paymentic.infra.events;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+@ApplicationScoped
+public class RecentEvents {
+  private final Map<UUID, Boolean> events;
+  public RecentEvents(@ConfigProperty(name = "payment-executor.dedup.cache-size", defaultValue = "100000") int capacity) {
+    this.events = new LinkedHashMap<>(capacity, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<UUID, Boolean> eldest) {
+        return size() > capacity;
+      }
+    };
+  }
+  public synchronized boolean contains(UUID id) {
+    return this.events.get(id) != null;
+  }
+  public synchronized void add(UUID id) {
+    this.events.put(id, Boolean.TRUE);
+  }
+
+}
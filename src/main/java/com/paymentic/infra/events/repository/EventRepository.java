@@ -1,24 +1,120 @@
 package com.paymentic.infra.events.repository;
 
 import com.paymentic.infra.events.Event;
+import com.paymentic.infra.events.RecentEvents;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import io.quarkus.hibernate.orm.panache.PanacheRepository;
+import io.quarkus.narayana.jta.QuarkusTransaction;
 import jakarta.enterprise.context.ApplicationScoped;
-import jakarta.transaction.Transactional;
+import java.sql.PreparedStatement;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.hibernate.Session;
 import org.jboss.logging.Logger;
 
 @ApplicationScoped
 public class EventRepository implements PanacheRepository<Event> {
   private static final Logger LOGGER = Logger.getLogger(EventRepository.class);
-  private static final String ERROR = "Event %s already handled!!!";
-  @Transactional
+  private static final String DUPLICATED = "Event %s already handled!!!";
+  private static final String LOCK = "SELECT pg_advisory_xact_lock(hashtextextended(CAST(id AS text), 0)) FROM unnest(?) AS id";
+  private static final String INSERT_ALL_IF_ABSENT = "INSERT INTO payment_executor_event (event_id, received_at) SELECT id, localtimestamp FROM unnest(?) AS id "
+      + "WHERE NOT EXISTS (SELECT 1 FROM payment_executor_event e WHERE e.event_id = id AND e.received_at >= localtimestamp - make_interval(secs => ?)) "
+      + "ON CONFLICT DO NOTHING RETURNING event_id";
+  private final RecentEvents recentEvents;
+  private final Counter cacheHits;
+  private final Counter cacheMisses;
+  private final Counter databaseDuplicates;
+  private final Timer dedup;
+  private final Timer dedupBatch;
+  private final double windowSeconds;
+  public EventRepository(RecentEvents recentEvents, MeterRegistry registry,
+      @ConfigProperty(name = "payment-executor.dedup.window", defaultValue = "7d") Duration window) {
+    this.recentEvents = recentEvents;
+    this.windowSeconds = window.toSeconds();
+    this.cacheHits = registry.counter("payment.executor.dedup.cache", "result", "hit");
+    this.cacheMisses = registry.counter("payment.executor.dedup.cache", "result", "miss");
+    this.databaseDuplicates = registry.counter("payment.executor.dedup.database.duplicates");
+    this.dedup = Timer.builder("payment.executor.dedup").tag("mode", "single").register(registry);
+    this.dedupBatch = Timer.builder("payment.executor.dedup").tag("mode", "batch").register(registry);
+  }
   public boolean shouldHandle(Event event) {
-    try {
-      persistAndFlush(event);
-      return true;
-    } catch (Exception exception) {
-      LOGGER.error(String.format(ERROR, event.getId().toString()));
+    return this.dedup.record(() -> this.handle(event));
+  }
+  public Set<UUID> shouldHandleAll(List<UUID> ids) {
+    return this.dedupBatch.record(() -> this.handleAll(ids));
+  }
+  private boolean handle(Event event) {
+    if (this.recentEvents.contains(event.getId())) {
+      this.cacheHits.increment();
+      LOGGER.warnf(DUPLICATED, event.getId());
+      return false;
+    }
+    this.cacheMisses.increment();
+    var inserted = this.insertIfAbsent(List.of(event.getId()));
+    this.recentEvents.add(event.getId());
+    if (inserted.isEmpty()) {
+      this.databaseDuplicates.increment();
+      LOGGER.warnf(DUPLICATED, event.getId());
       return false;
     }
+    return true;
+  }
+  private Set<UUID> handleAll(List<UUID> ids) {
+    var candidates = new LinkedHashSet<UUID>();
+    for (var id : ids) {
+      if (this.recentEvents.contains(id)) {
+        this.cacheHits.increment();
+        LOGGER.warnf(DUPLICATED, id);
+      } else {
+        this.cacheMisses.increment();
+        candidates.add(id);
+      }
+    }
+    if (candidates.isEmpty()) {
+      return Set.of();
+    }
+    var inserted = this.insertIfAbsent(candidates);
+    for (var id : candidates) {
+      this.recentEvents.add(id);
+      if (!inserted.contains(id)) {
+        this.databaseDuplicates.increment();
+        LOGGER.warnf(DUPLICATED, id);
+      }
+    }
+    return inserted;
+  }
+  Set<UUID> insertIfAbsent(Collection<UUID> ids) {
+    var sorted = ids.stream().sorted().toArray();
+    return QuarkusTransaction.requiringNew().call(() -> getEntityManager().unwrap(Session.class).doReturningWork(connection -> {
+      var array = connection.createArrayOf("uuid", sorted);
+      try (PreparedStatement lock = connection.prepareStatement(LOCK)) {
+        lock.setArray(1, array);
+        try (var rows = lock.executeQuery()) {
+          while (rows.next()) {
+            // locks are taken row by row, in id order, so concurrent batches cannot deadlock
+          }
+        }
+      }
+      try (PreparedStatement statement = connection.prepareStatement(INSERT_ALL_IF_ABSENT)) {
+        statement.setArray(1, array);
+        statement.setDouble(2, this.windowSeconds);
+        var handled = new HashSet<UUID>(sorted.length);
+        try (var rows = statement.executeQuery()) {
+          while (rows.next()) {
+            handled.add(rows.getObject(1, UUID.class));
+          }
+        }
+        return handled;
+      }
+    }));
   }
 
 }
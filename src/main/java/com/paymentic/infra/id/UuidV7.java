@@ -0,0 +1,24 @@
+package com.paymentic.infra.id;
+
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+public final class UuidV7 {
+  private static final int SEQUENCE_BITS = 12;
+  private static final AtomicLong LAST = new AtomicLong();
+  private UuidV7() {
+  }
+  public static UUID next() {
+    long now = System.currentTimeMillis() << SEQUENCE_BITS;
+    long state = LAST.updateAndGet(previous -> Math.max(previous + 1, now));
+    long mostSignificant = ((state >>> SEQUENCE_BITS) << 16) | 0x7000L | (state & 0xFFFL);
+    long leastSignificant = (ThreadLocalRandom.current().nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+    return new UUID(mostSignificant, leastSignificant);
+  }
+  public static Instant instant(UUID id) {
+    return Instant.ofEpochMilli(id.getMostSignificantBits() >>> 16);
+  }
+
+}
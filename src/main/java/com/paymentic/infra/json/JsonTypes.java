@@ -0,0 +1,65 @@
+package com.paymentic.infra.json;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.paymentic.adapter.http.api.TransactionPage;
+import com.paymentic.adapter.http.api.TransactionView;
+import com.paymentic.domain.checkout.Checkout;
+import com.paymentic.domain.payment.Participants;
+import com.paymentic.domain.payment.PaymentOrder;
+import com.paymentic.domain.payment.PaymentOrderReceived;
+import com.paymentic.domain.payment.PaymentOrderStatus;
+import com.paymentic.domain.payment.PaymentTransaction;
+import com.paymentic.domain.payment.Refund;
+import com.paymentic.domain.payment.events.PaymentCreatedEvent;
+import com.paymentic.domain.payment.events.PaymentOrderStartedEvent;
+import com.paymentic.domain.payment.events.PaymentRetryEvent;
+import com.paymentic.domain.payment.events.RefundCreatedEvent;
+import com.paymentic.domain.payment.events.RefundOrderStarted;
+import com.paymentic.domain.payment.events.RiskLevel;
+import com.paymentic.domain.psp.PaymentRequest;
+import com.paymentic.domain.psp.PaymentResult;
+import com.paymentic.domain.shared.BuyerInfo;
+import com.paymentic.domain.shared.CardInfo;
+import com.paymentic.domain.shared.CheckoutId;
+import com.paymentic.domain.shared.PaymentOrderId;
+import com.paymentic.domain.shared.RefundId;
+import com.paymentic.domain.shared.SellerInfo;
+import com.paymentic.domain.transaction.TransactionId;
+import com.paymentic.domain.transaction.TransactionStatus;
+import com.paymentic.domain.transaction.events.TransactionProcessedEvent;
+import io.quarkus.runtime.StartupEvent;
+import io.quarkus.runtime.annotations.RegisterForReflection;
+import jakarta.annotation.Priority;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.interceptor.Interceptor;
+import java.util.List;
+import org.jboss.logging.Logger;
+
+@ApplicationScoped
+@RegisterForReflection(targets = {
+    PaymentCreatedEvent.class, RefundCreatedEvent.class, PaymentTransaction.class, PaymentOrder.class,
+    PaymentOrderStatus.class, Checkout.class, Participants.class, Refund.class, RiskLevel.class,
+    PaymentOrderStartedEvent.class, RefundOrderStarted.class, TransactionProcessedEvent.class,
+    PaymentRetryEvent.class, PaymentOrderReceived.class,
+    PaymentRequest.class, PaymentResult.class, TransactionView.class, TransactionPage.class,
+    BuyerInfo.class, CardInfo.class, SellerInfo.class, CheckoutId.class, PaymentOrderId.class, RefundId.class,
+    TransactionId.class, TransactionStatus.class})
+public class JsonTypes {
+  private static final Logger LOGGER = Logger.getLogger(JsonTypes.class);
+  private static final List<Class<?>> INCOMING = List.of(PaymentCreatedEvent.class, RefundCreatedEvent.class, PaymentResult.class,
+      PaymentRetryEvent.class);
+  private static final List<Class<?>> OUTGOING = List.of(PaymentOrderStartedEvent.class, RefundOrderStarted.class,
+      TransactionProcessedEvent.class, PaymentRequest.class, TransactionView.class, PaymentRetryEvent.class);
+  private final ObjectMapper mapper;
+  public JsonTypes(ObjectMapper mapper) {
+    this.mapper = mapper;
+  }
+  void onStart(@Observes @Priority(Interceptor.Priority.PLATFORM_BEFORE) StartupEvent event) {
+    var start = System.nanoTime();
+    INCOMING.forEach(this.mapper::readerFor);
+    OUTGOING.forEach(this.mapper::writerFor);
+    LOGGER.infof("Resolved Jackson (de)serializers for %d types in %d ms",INCOMING.size() + OUTGOING.size(),(System.nanoTime() - start) / 1_000_000);
+  }
+
+}
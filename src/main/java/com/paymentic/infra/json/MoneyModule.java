@@ -0,0 +1,93 @@
+package com.paymentic.infra.json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.fasterxml.jackson.databind.util.NameTransformer;
+import com.paymentic.domain.shared.Money;
+import io.quarkus.jackson.ObjectMapperCustomizer;
+import jakarta.inject.Singleton;
+import java.io.IOException;
+
+@Singleton
+public class MoneyModule implements ObjectMapperCustomizer {
+  private static final String AMOUNT = "amount";
+  private static final String CURRENCY = "currency";
+  @Override
+  public void customize(ObjectMapper objectMapper) {
+    objectMapper.registerModule(module());
+  }
+  public static SimpleModule module() {
+    return new SimpleModule("money")
+        .addSerializer(Money.class, new MoneySerializer(null))
+        .addDeserializer(Money.class, new MoneyDeserializer());
+  }
+  static class MoneySerializer extends StdSerializer<Money> {
+    // set when the property is @JsonUnwrapped: write amount and currency into the enclosing object
+    private final NameTransformer unwrapped;
+    MoneySerializer(NameTransformer unwrapped) {
+      super(Money.class);
+      this.unwrapped = unwrapped;
+    }
+    @Override
+    public void serialize(Money money, JsonGenerator generator, SerializerProvider provider) throws IOException {
+      if (this.unwrapped == null) {
+        generator.writeStartObject();
+        generator.writeStringField(AMOUNT, money.amount());
+        generator.writeStringField(CURRENCY, money.getCurrency());
+        generator.writeEndObject();
+      } else {
+        generator.writeStringField(this.unwrapped.transform(AMOUNT), money.amount());
+        generator.writeStringField(this.unwrapped.transform(CURRENCY), money.getCurrency());
+      }
+    }
+    @Override
+    public boolean isUnwrappingSerializer() {
+      return this.unwrapped != null;
+    }
+    @Override
+    public JsonSerializer<Money> unwrappingSerializer(NameTransformer transformer) {
+      return new MoneySerializer(transformer);
+    }
+  }
+  static class MoneyDeserializer extends StdDeserializer<Money> {
+    MoneyDeserializer() {
+      super(Money.class);
+    }
+    @Override
+    public Money deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+      String amount = null;
+      String currency = null;
+      if (parser.currentToken() == JsonToken.START_OBJECT) {
+        parser.nextToken();
+      }
+      for (; parser.currentToken() == JsonToken.FIELD_NAME; parser.nextToken()) {
+        var field = parser.currentName();
+        parser.nextToken();
+        if (AMOUNT.equals(field)) {
+          amount = parser.getValueAsString();
+        } else if (CURRENCY.equals(field)) {
+          currency = parser.getValueAsString();
+        } else {
+          parser.skipChildren();
+        }
+      }
+      if (amount == null || currency == null) {
+        return (Money) context.handleUnexpectedToken(Money.class, parser);
+      }
+      try {
+        return Money.of(amount, currency);
+      } catch (IllegalArgumentException | ArithmeticException exception) {
+        return (Money) context.handleWeirdStringValue(Money.class, amount, exception.getMessage());
+      }
+    }
+  }
+
+}
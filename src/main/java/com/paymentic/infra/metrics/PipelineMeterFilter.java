@@ -0,0 +1,32 @@
+package com.paymentic.infra.metrics;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import jakarta.inject.Singleton;
+import java.util.List;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+@Singleton
+public class PipelineMeterFilter implements MeterFilter {
+  public static final String PREFIX = "payment.executor.";
+  private final double[] percentiles;
+  private final boolean histogram;
+  public PipelineMeterFilter(
+      @ConfigProperty(name = "payment-executor.metrics.percentiles", defaultValue = "0.5,0.95,0.99") List<Double> percentiles,
+      @ConfigProperty(name = "payment-executor.metrics.histogram", defaultValue = "true") boolean histogram) {
+    this.percentiles = percentiles.stream().mapToDouble(Double::doubleValue).toArray();
+    this.histogram = histogram;
+  }
+  @Override
+  public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+    if (!id.getName().startsWith(PREFIX) || (id.getType() != Meter.Type.TIMER && id.getType() != Meter.Type.DISTRIBUTION_SUMMARY)) {
+      return config;
+    }
+    return config.merge(DistributionStatisticConfig.builder()
+        .percentiles(this.percentiles)
+        .percentilesHistogram(this.histogram)
+        .build());
+  }
+
+}
@@ -0,0 +1,50 @@
+package com.paymentic.infra.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import org.jboss.logging.Logger;
+
+@ApplicationScoped
+public class StartupTimeline {
+  private static final Logger LOGGER = Logger.getLogger(StartupTimeline.class);
+  private final MeterRegistry registry;
+  private final Instant processStart;
+  private final Map<String, Duration> firstMessages = new ConcurrentHashMap<>();
+  private volatile Duration started;
+  public StartupTimeline(MeterRegistry registry) {
+    this.registry = registry;
+    this.processStart = ProcessHandle.current().info().startInstant()
+        .orElseGet(() -> Instant.ofEpochMilli(ManagementFactory.getRuntimeMXBean().getStartTime()));
+  }
+  void onStart(@Observes StartupEvent event) {
+    this.started = this.sinceProcessStart();
+    TimeGauge.builder("payment.executor.startup.started", this, TimeUnit.MILLISECONDS, timeline -> timeline.started.toMillis())
+        .register(this.registry);
+    LOGGER.infof("Started %d ms after process start",this.started.toMillis());
+  }
+  public void handled(String channel) {
+    if (this.firstMessages.containsKey(channel)) {
+      return;
+    }
+    var elapsed = this.sinceProcessStart();
+    if (this.firstMessages.putIfAbsent(channel, elapsed) == null) {
+      TimeGauge.builder("payment.executor.startup.first-message", this.firstMessages, TimeUnit.MILLISECONDS, messages -> messages.get(channel).toMillis())
+          .tag("channel", channel)
+          .register(this.registry);
+      LOGGER.infof("First message on %s handled %d ms after process start",channel,elapsed.toMillis());
+    }
+  }
+  private Duration sinceProcessStart() {
+    return Duration.between(this.processStart, Instant.now());
+  }
+
+}
@@ -0,0 +1,55 @@
+package com.paymentic.infra.outbox;
+
+import com.paymentic.infra.id.UuidV7;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Entity(name = "payment_executor_outbox")
+@Table(name = "payment_executor_outbox", indexes = @Index(name = "payment_executor_outbox_created_at_idx", columnList = "created_at, outbox_id"))
+public class OutboxEvent {
+
+  @Id
+  @Column(name = "outbox_id")
+  private UUID id;
+  private String channel;
+  @Column(columnDefinition = "text")
+  private String payload;
+  @Column(columnDefinition = "bytea")
+  private byte[] data;
+  @Column(name = "created_at")
+  private LocalDateTime createdAt;
+  public OutboxEvent(){}
+  public OutboxEvent(String channel, String payload) {
+    this.id = UuidV7.next();
+    this.channel = channel;
+    this.payload = payload;
+    this.createdAt = LocalDateTime.now();
+  }
+  public OutboxEvent(String channel, byte[] data) {
+    this.id = UuidV7.next();
+    this.channel = channel;
+    this.data = data;
+    this.createdAt = LocalDateTime.now();
+  }
+  public UUID getId() {
+    return id;
+  }
+  public String getChannel() {
+    return channel;
+  }
+  public String getPayload() {
+    return payload;
+  }
+  public byte[] getData() {
+    return data;
+  }
+  public LocalDateTime getCreatedAt() {
+    return createdAt;
+  }
+
+}
@@ -0,0 +1,45 @@
+package com.paymentic.infra.outbox.repository;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.paymentic.infra.outbox.OutboxEvent;
+import io.quarkus.hibernate.orm.panache.PanacheRepository;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Event;
+import java.util.List;
+import java.util.UUID;
+
+@ApplicationScoped
+public class OutboxRepository implements PanacheRepository<OutboxEvent> {
+  private static final String NEXT_BATCH = "SELECT * FROM payment_executor_outbox ORDER BY created_at, outbox_id LIMIT :size FOR UPDATE SKIP LOCKED";
+  private final ObjectMapper mapper;
+  private final Event<OutboxEvent> stored;
+  public OutboxRepository(ObjectMapper mapper, Event<OutboxEvent> stored) {
+    this.mapper = mapper;
+    this.stored = stored;
+  }
+  public void store(String channel, Object event) {
+    try {
+      store(new OutboxEvent(channel, this.mapper.writeValueAsString(event)));
+    } catch (JsonProcessingException exception) {
+      throw new IllegalArgumentException(String.format("Event for channel %s could not be serialized", channel), exception);
+    }
+  }
+  public void store(String channel, byte[] data) {
+    store(new OutboxEvent(channel, data));
+  }
+  private void store(OutboxEvent outboxEvent) {
+    persist(outboxEvent);
+    this.stored.fire(outboxEvent);
+  }
+  @SuppressWarnings("unchecked")
+  public List<OutboxEvent> nextBatch(int size) {
+    return getEntityManager().createNativeQuery(NEXT_BATCH, OutboxEvent.class)
+        .setParameter("size", size)
+        .getResultList();
+  }
+  public long deleteAll(List<UUID> ids) {
+    return delete("id in ?1", ids);
+  }
+
+}
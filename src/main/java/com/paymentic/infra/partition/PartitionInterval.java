@@ -0,0 +1,41 @@
+package com.paymentic.infra.partition;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.Optional;
+
+public enum PartitionInterval {
+  DAY(ChronoUnit.DAYS, DateTimeFormatter.ofPattern("yyyyMMdd")),
+  MONTH(ChronoUnit.MONTHS, DateTimeFormatter.ofPattern("yyyyMM"));
+  private final ChronoUnit unit;
+  private final DateTimeFormatter suffix;
+  PartitionInterval(ChronoUnit unit, DateTimeFormatter suffix) {
+    this.unit = unit;
+    this.suffix = suffix;
+  }
+  public LocalDate start(LocalDate date){
+    return this == MONTH ? date.withDayOfMonth(1) : date;
+  }
+  public LocalDate next(LocalDate start){
+    return start.plus(1, this.unit);
+  }
+  public String name(String table, LocalDate start){
+    return table + "_p" + this.suffix.format(start);
+  }
+  public Optional<LocalDate> start(String table, String partition){
+    var prefix = table + "_p";
+    if (!partition.startsWith(prefix)) {
+      return Optional.empty();
+    }
+    try {
+      var suffix = partition.substring(prefix.length());
+      return Optional.of(this == MONTH ? YearMonth.parse(suffix, this.suffix).atDay(1) : LocalDate.parse(suffix, this.suffix));
+    } catch (DateTimeParseException exception) {
+      return Optional.empty();
+    }
+  }
+
+}
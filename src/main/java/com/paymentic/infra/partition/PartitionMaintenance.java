@@ -0,0 +1,81 @@
+package com.paymentic.infra.partition;
+
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.runtime.StartupEvent;
+import io.quarkus.virtual.threads.VirtualThreads;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+@ApplicationScoped
+public class PartitionMaintenance {
+  private static final Logger LOGGER = Logger.getLogger(PartitionMaintenance.class);
+  private final RangePartitions partitions;
+  private final ExecutorService executor;
+  private final Duration interval;
+  private final List<PartitionedTable> tables = new ArrayList<>();
+  private volatile Thread worker;
+  public PartitionMaintenance(RangePartitions partitions, @VirtualThreads ExecutorService executor,
+      @ConfigProperty(name = "payment-executor.partitioning.interval", defaultValue = "1h") Duration interval,
+      @ConfigProperty(name = "payment-executor.partitioning.transaction.enabled", defaultValue = "false") boolean transactionEnabled,
+      @ConfigProperty(name = "payment-executor.partitioning.transaction.months-ahead", defaultValue = "3") int transactionMonthsAhead,
+      @ConfigProperty(name = "payment-executor.partitioning.event.enabled", defaultValue = "false") boolean eventEnabled,
+      @ConfigProperty(name = "payment-executor.partitioning.event.days-ahead", defaultValue = "2") int eventDaysAhead,
+      @ConfigProperty(name = "payment-executor.dedup.window", defaultValue = "7d") Duration dedupWindow) {
+    this.partitions = partitions;
+    this.executor = executor;
+    this.interval = interval;
+    if (transactionEnabled) {
+      this.tables.add(new PartitionedTable("transaction", PartitionInterval.MONTH, transactionMonthsAhead, null));
+    }
+    if (eventEnabled) {
+      this.tables.add(new PartitionedTable("payment_executor_event", PartitionInterval.DAY, eventDaysAhead, dedupWindow));
+    }
+  }
+  void start(@Observes StartupEvent startup){
+    if (this.tables.isEmpty()) {
+      return;
+    }
+    this.executor.execute(this::maintain);
+  }
+  void stop(@Observes ShutdownEvent shutdown){
+    var current = this.worker;
+    if (current != null) {
+      current.interrupt();
+    }
+  }
+  private void maintain(){
+    this.worker = Thread.currentThread();
+    while (!Thread.currentThread().isInterrupted()) {
+      var today = LocalDate.now();
+      for (var table : this.tables) {
+        try {
+          if (!this.partitions.isPartitioned(table.name())) {
+            LOGGER.warn(String.format("Table %s is not partitioned, apply db/partitioning/%s.sql to enable it",table.name(),table.name()));
+            continue;
+          }
+          this.partitions.ensure(table.name(), table.interval(), today, table.ahead());
+          if (table.retention() != null) {
+            this.partitions.dropBefore(table.name(), table.interval(), LocalDateTime.now().minus(table.retention()));
+          }
+        } catch (Exception exception) {
+          LOGGER.error(String.format("Partition maintenance failed for %s: %s",table.name(),exception.getMessage()),exception);
+        }
+      }
+      try {
+        Thread.sleep(this.interval.toMillis());
+      } catch (InterruptedException exception) {
+        return;
+      }
+    }
+  }
+  record PartitionedTable(String name, PartitionInterval interval, int ahead, Duration retention) {}
+
+}
@@ -0,0 +1,66 @@
+package com.paymentic.infra.partition;
+
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.persistence.EntityManager;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.hibernate.Session;
+import org.jboss.logging.Logger;
+
+@ApplicationScoped
+public class RangePartitions {
+  private static final Logger LOGGER = Logger.getLogger(RangePartitions.class);
+  private final EntityManager entityManager;
+  public RangePartitions(EntityManager entityManager) {
+    this.entityManager = entityManager;
+  }
+  public boolean isPartitioned(String table){
+    return QuarkusTransaction.requiringNew().call(() -> !this.entityManager
+        .createNativeQuery("SELECT 1 FROM pg_partitioned_table WHERE partrelid = to_regclass(:table)")
+        .setParameter("table", table)
+        .getResultList().isEmpty());
+  }
+  public int ensure(String table, PartitionInterval interval, LocalDate from, int ahead){
+    var created = 0;
+    var start = interval.start(from);
+    for (int i = 0; i <= ahead; i++) {
+      var end = interval.next(start);
+      var name = interval.name(table, start);
+      var statement = String.format("CREATE TABLE IF NOT EXISTS %s PARTITION OF %s FOR VALUES FROM ('%s') TO ('%s')",
+          name, table, start, end);
+      if (!exists(name)) {
+        QuarkusTransaction.requiringNew().run(() -> this.entityManager.createNativeQuery(statement).executeUpdate());
+        LOGGER.info(String.format("Partition %s created for range [%s, %s)",name,start,end));
+        created++;
+      }
+      start = end;
+    }
+    return created;
+  }
+  public int dropBefore(String table, PartitionInterval interval, LocalDateTime cutoff){
+    List<String> children = QuarkusTransaction.requiringNew().call(() -> this.entityManager.unwrap(Session.class)
+        .createNativeQuery("SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid WHERE i.inhparent = to_regclass(:table)", String.class)
+        .setParameter("table", table)
+        .getResultList());
+    var dropped = 0;
+    for (var name : children) {
+      var start = interval.start(table, name);
+      if (start.isEmpty() || interval.next(start.get()).atStartOfDay().isAfter(cutoff)) {
+        continue;
+      }
+      QuarkusTransaction.requiringNew().run(() -> this.entityManager.createNativeQuery(String.format("DROP TABLE IF EXISTS %s", name)).executeUpdate());
+      LOGGER.info(String.format("Partition %s dropped, its range ends before %s",name,cutoff));
+      dropped++;
+    }
+    return dropped;
+  }
+  private boolean exists(String name){
+    return QuarkusTransaction.requiringNew().call(() -> !this.entityManager
+        .createNativeQuery("SELECT 1 FROM pg_class WHERE oid = to_regclass(:name)")
+        .setParameter("name", name)
+        .getResultList().isEmpty());
+  }
+
+}
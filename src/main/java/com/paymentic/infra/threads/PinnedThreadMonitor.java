@@ -0,0 +1,60 @@
+package com.paymentic.infra.threads;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingStream;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+@ApplicationScoped
+public class PinnedThreadMonitor {
+  private static final Logger LOGGER = Logger.getLogger(PinnedThreadMonitor.class);
+  private static final String VIRTUAL_THREAD_PINNED = "jdk.VirtualThreadPinned";
+  private static final int FRAMES = 5;
+  private final boolean enabled;
+  private final Duration threshold;
+  private final Counter pinned;
+  private RecordingStream stream;
+  public PinnedThreadMonitor(@ConfigProperty(name = "payment-executor.virtual-threads.pinning-monitor.enabled", defaultValue = "true") boolean enabled,
+      @ConfigProperty(name = "payment-executor.virtual-threads.pinning-monitor.threshold", defaultValue = "20ms") Duration threshold,
+      MeterRegistry registry) {
+    this.enabled = enabled;
+    this.threshold = threshold;
+    this.pinned = registry.counter("payment.executor.virtual-threads.pinned");
+  }
+  void start(@Observes StartupEvent startup){
+    if (!this.enabled){
+      return;
+    }
+    try {
+      this.stream = new RecordingStream();
+      this.stream.enable(VIRTUAL_THREAD_PINNED).withThreshold(this.threshold).withStackTrace();
+      this.stream.onEvent(VIRTUAL_THREAD_PINNED, this::pinned);
+      this.stream.startAsync();
+      LOGGER.info(String.format("Virtual thread pinning monitor started. Threshold %s",this.threshold));
+    } catch (Exception exception) {
+      LOGGER.warn(String.format("Virtual thread pinning monitor not available: %s",exception.getMessage()));
+    }
+  }
+  void stop(@Observes ShutdownEvent shutdown){
+    if (Objects.nonNull(this.stream)){
+      this.stream.close();
+    }
+  }
+  private void pinned(RecordedEvent event){
+    this.pinned.increment();
+    var frames = Objects.isNull(event.getStackTrace()) ? "unknown" : event.getStackTrace().getFrames().stream().limit(FRAMES)
+        .map(frame -> frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":" + frame.getLineNumber())
+        .collect(Collectors.joining(" <- "));
+    LOGGER.warn(String.format("Virtual thread pinned its carrier for %d ms at %s",event.getDuration().toMillis(),frames));
+  }
+
+}
@@ -0,0 +1,17 @@
+-- Moves transaction amounts from the varchar amount column to amount_minor (minor units).
+-- Hibernate adds amount_minor on startup, this fills it for rows written before.
+
+BEGIN;
+
+ALTER TABLE transaction ADD COLUMN IF NOT EXISTS amount_minor bigint;
+
+UPDATE transaction
+SET amount_minor = round(amount::numeric * power(10, CASE
+        WHEN currency IN ('BIF','CLP','DJF','GNF','ISK','JPY','KMF','KRW','PYG','RWF','UGX','VND','VUV','XAF','XOF','XPF') THEN 0
+        WHEN currency IN ('BHD','IQD','JOD','KWD','LYD','OMR','TND') THEN 3
+        ELSE 2 END))::bigint
+WHERE amount_minor IS NULL AND amount IS NOT NULL;
+
+COMMIT;
+
+-- After every instance runs a version with Money: ALTER TABLE transaction DROP COLUMN amount;
@@ -0,0 +1,39 @@
+-- Range partitions the payment_executor_event dedup table by day on received_at.
+-- Run once, before enabling payment-executor.partitioning.event.enabled.
+-- Daily partitions are then created ahead of time, and dropped once they fall out of
+-- payment-executor.dedup.window, by PartitionMaintenance. Only ids inside the window are copied.
+
+BEGIN;
+
+ALTER TABLE IF EXISTS payment_executor_event RENAME TO payment_executor_event_unpartitioned;
+ALTER INDEX IF EXISTS payment_executor_event_pkey RENAME TO payment_executor_event_unpartitioned_pkey;
+
+CREATE TABLE payment_executor_event (
+    event_id uuid NOT NULL,
+    received_at timestamp(6) NOT NULL DEFAULT localtimestamp,
+    PRIMARY KEY (event_id, received_at)
+) PARTITION BY RANGE (received_at);
+
+-- Catches rows outside the maintained ranges, it should stay empty.
+CREATE TABLE payment_executor_event_default PARTITION OF payment_executor_event DEFAULT;
+
+DO $$
+DECLARE
+    window_days integer := 7; -- keep in line with payment-executor.dedup.window
+    day date := current_date - window_days;
+BEGIN
+    WHILE day <= current_date + 2 LOOP
+        EXECUTE format('CREATE TABLE IF NOT EXISTS %I PARTITION OF payment_executor_event FOR VALUES FROM (%L) TO (%L)',
+            'payment_executor_event_p' || to_char(day, 'YYYYMMDD'), day, day + 1);
+        day := day + 1;
+    END LOOP;
+
+    INSERT INTO payment_executor_event (event_id, received_at)
+    SELECT event_id, coalesce(received_at, localtimestamp)
+    FROM payment_executor_event_unpartitioned
+    WHERE received_at IS NULL OR received_at >= current_date - window_days;
+END $$;
+
+COMMIT;
+
+-- After checking the copy: DROP TABLE payment_executor_event_unpartitioned;
@@ -0,0 +1,61 @@
+-- Range partitions the transaction table on created_at.
+-- Run once, before enabling payment-executor.partitioning.transaction.enabled,
+-- and after db/money/transaction-amount-minor.sql on databases with String amounts.
+-- Monthly partitions are then created ahead of time by PartitionMaintenance.
+
+BEGIN;
+
+ALTER TABLE IF EXISTS transaction RENAME TO transaction_unpartitioned;
+ALTER INDEX IF EXISTS transaction_pkey RENAME TO transaction_unpartitioned_pkey;
+ALTER INDEX IF EXISTS transaction_totals_idx RENAME TO transaction_unpartitioned_totals_idx;
+ALTER INDEX IF EXISTS transaction_created_idx RENAME TO transaction_unpartitioned_created_idx;
+ALTER INDEX IF EXISTS transaction_payment_order_idx RENAME TO transaction_unpartitioned_payment_order_idx;
+ALTER INDEX IF EXISTS transaction_status_idx RENAME TO transaction_unpartitioned_status_idx;
+ALTER INDEX IF EXISTS transaction_type_idx RENAME TO transaction_unpartitioned_type_idx;
+
+CREATE TABLE transaction (
+    transaction_id uuid NOT NULL,
+    payment_order_id uuid,
+    amount_minor bigint,
+    currency varchar(3),
+    buyer_info_document varchar(255),
+    buyer_info_name varchar(255),
+    card_info_info varchar(255),
+    card_info_token varchar(255),
+    created_at timestamp(6) NOT NULL,
+    status varchar(255) CHECK (status IN ('UNDEFINED','APPROVED','DECLINED')),
+    situation varchar(255) CHECK (situation IN ('RECEIVED','PROCESSED')),
+    type varchar(255) CHECK (type IN ('PAYMENT','REFUND')),
+    PRIMARY KEY (transaction_id, created_at)
+) PARTITION BY RANGE (created_at);
+
+CREATE INDEX transaction_totals_idx ON transaction (situation, created_at, currency, status, amount_minor);
+CREATE INDEX transaction_created_idx ON transaction (created_at, transaction_id);
+CREATE INDEX transaction_payment_order_idx ON transaction (payment_order_id, created_at, transaction_id);
+CREATE INDEX transaction_status_idx ON transaction (status, created_at, transaction_id);
+CREATE INDEX transaction_type_idx ON transaction (type, created_at, transaction_id);
+
+-- Catches rows outside the maintained ranges, it should stay empty.
+CREATE TABLE transaction_default PARTITION OF transaction DEFAULT;
+
+DO $$
+DECLARE
+    first_month date := date_trunc('month', coalesce(
+        (SELECT min(created_at) FROM transaction_unpartitioned), now()))::date;
+    month date;
+BEGIN
+    month := first_month;
+    WHILE month <= date_trunc('month', now()) + interval '3 months' LOOP
+        EXECUTE format('CREATE TABLE IF NOT EXISTS %I PARTITION OF transaction FOR VALUES FROM (%L) TO (%L)',
+            'transaction_p' || to_char(month, 'YYYYMM'), month, (month + interval '1 month')::date);
+        month := (month + interval '1 month')::date;
+    END LOOP;
+END $$;
+
+INSERT INTO transaction SELECT transaction_id, payment_order_id, amount_minor, currency, buyer_info_document,
+    buyer_info_name, card_info_info, card_info_token, coalesce(created_at, now()), status, situation, type
+FROM transaction_unpartitioned;
+
+COMMIT;
+
+-- After checking the copy: DROP TABLE transaction_unpartitioned;
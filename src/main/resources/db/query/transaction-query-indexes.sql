@@ -0,0 +1,9 @@
+-- Indexes behind GET /transactions (keyset pagination on created_at, transaction_id).
+-- Hibernate's schema update would create them with a blocking CREATE INDEX, so on large
+-- unpartitioned tables run this first. CONCURRENTLY cannot run inside a transaction block.
+-- Partitioned tables get them from db/partitioning/transaction.sql.
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS transaction_created_idx ON transaction (created_at, transaction_id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS transaction_payment_order_idx ON transaction (payment_order_id, created_at, transaction_id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS transaction_status_idx ON transaction (status, created_at, transaction_id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS transaction_type_idx ON transaction (type, created_at, transaction_id);
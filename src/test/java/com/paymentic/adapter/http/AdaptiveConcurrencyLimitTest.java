@@ -0,0 +1,67 @@
+package com.paymentic.adapter.http;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+
+class AdaptiveConcurrencyLimitTest {
+  private static final long FAST = Duration.ofMillis(10).toNanos();
+  private static final long SLOW = Duration.ofSeconds(2).toNanos();
+  @Test
+  void growsWhileFastCallsUseTheLimit() throws Exception {
+    var limit = new AdaptiveConcurrencyLimit(2, 1, 3, Duration.ofSeconds(1), 0.5);
+    for (int round = 0; round < 10; round++) {
+      assertTrue(limit.acquire(Duration.ZERO));
+      assertTrue(limit.acquire(Duration.ZERO));
+      limit.release(FAST, false);
+      limit.release(FAST, false);
+    }
+    assertEquals(3, limit.limit());
+    assertEquals(0, limit.inFlight());
+  }
+  @Test
+  void doesNotGrowWhenMostOfTheLimitIsUnused() throws Exception {
+    var limit = new AdaptiveConcurrencyLimit(10, 1, 20, Duration.ofSeconds(1), 0.5);
+    for (int round = 0; round < 10; round++) {
+      assertTrue(limit.acquire(Duration.ZERO));
+      limit.release(FAST, false);
+    }
+    assertEquals(10, limit.limit());
+  }
+  @Test
+  void backsOffOnFailures() throws Exception {
+    var limit = new AdaptiveConcurrencyLimit(10, 1, 20, Duration.ofSeconds(1), 0.5);
+    assertTrue(limit.acquire(Duration.ZERO));
+    limit.release(FAST, true);
+    assertEquals(5, limit.limit());
+  }
+  @Test
+  void backsOffOnSlowCalls() throws Exception {
+    var limit = new AdaptiveConcurrencyLimit(10, 1, 20, Duration.ofSeconds(1), 0.5);
+    assertTrue(limit.acquire(Duration.ZERO));
+    limit.release(SLOW, false);
+    assertEquals(5, limit.limit());
+  }
+  @Test
+  void neverBacksOffBelowTheMinimum() throws Exception {
+    var limit = new AdaptiveConcurrencyLimit(10, 2, 20, Duration.ofSeconds(1), 0.5);
+    for (int i = 0; i < 10; i++) {
+      assertTrue(limit.acquire(Duration.ZERO));
+      limit.release(FAST, true);
+    }
+    assertEquals(2, limit.limit());
+  }
+  @Test
+  void acquireWaitsForARelease() throws Exception {
+    var limit = new AdaptiveConcurrencyLimit(1, 1, 1, Duration.ofSeconds(1), 0.5);
+    assertTrue(limit.acquire(Duration.ZERO));
+    assertFalse(limit.acquire(Duration.ofMillis(50)));
+    Thread.ofVirtual().start(() -> limit.release(FAST, false));
+    assertTrue(limit.acquire(Duration.ofSeconds(5)));
+    assertEquals(1, limit.inFlight());
+  }
+
+}
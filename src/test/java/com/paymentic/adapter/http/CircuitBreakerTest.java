@@ -0,0 +1,107 @@
+package com.paymentic.adapter.http;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class CircuitBreakerTest {
+  private final List<PspCircuitStateChanged> transitions = new CopyOnWriteArrayList<>();
+  private CircuitBreaker breaker;
+  @BeforeEach
+  void setUp() {
+    this.breaker = new CircuitBreaker(4, 4, 0.5, Duration.ofMillis(20), 2, Runnable::run, this.transitions::add);
+  }
+  @Test
+  void staysClosedBelowTheMinimumCalls() {
+    for (int i = 0; i < 3; i++) {
+      this.breaker.onFailure(this.breaker.tryAcquire().orElseThrow());
+    }
+    assertEquals(CircuitState.CLOSED, this.breaker.state());
+  }
+  @Test
+  void opensAtTheFailureRatioAndRejectsCalls() {
+    this.open();
+    assertTrue(this.breaker.tryAcquire().isEmpty());
+    assertEquals(new PspCircuitStateChanged(CircuitState.CLOSED, CircuitState.OPEN), this.transitions.get(0));
+  }
+  @Test
+  void halfOpensAfterTheDelayAndClosesWhenAllProbesSucceed() throws Exception {
+    this.halfOpen();
+    var first = this.breaker.tryAcquire().orElseThrow();
+    var second = this.breaker.tryAcquire().orElseThrow();
+    assertTrue(this.breaker.tryAcquire().isEmpty());
+    this.breaker.onSuccess(first);
+    assertEquals(CircuitState.HALF_OPEN, this.breaker.state());
+    this.breaker.onSuccess(second);
+    assertEquals(CircuitState.CLOSED, this.breaker.state());
+    assertEquals(CircuitState.CLOSED, this.transitions.get(this.transitions.size() - 1).to());
+  }
+  @Test
+  void reopensWhenAProbeFails() throws Exception {
+    this.halfOpen();
+    this.breaker.onFailure(this.breaker.tryAcquire().orElseThrow());
+    assertEquals(new PspCircuitStateChanged(CircuitState.HALF_OPEN, CircuitState.OPEN), this.transitions.get(this.transitions.size() - 1));
+  }
+  @Test
+  void ignoredProbeFreesItsSlot() throws Exception {
+    this.halfOpen();
+    var first = this.breaker.tryAcquire().orElseThrow();
+    this.breaker.tryAcquire().orElseThrow();
+    this.breaker.onIgnored(first);
+    assertTrue(this.breaker.tryAcquire().isPresent());
+  }
+  @Test
+  void probesOfAnEarlierRoundDoNotCountInTheNextOne() throws Exception {
+    this.halfOpen();
+    var stale = this.breaker.tryAcquire().orElseThrow();
+    this.breaker.onFailure(this.breaker.tryAcquire().orElseThrow());
+    this.awaitState(CircuitState.HALF_OPEN);
+    var first = this.breaker.tryAcquire().orElseThrow();
+    this.breaker.tryAcquire().orElseThrow();
+    this.breaker.onSuccess(stale);
+    this.breaker.onIgnored(stale);
+    assertTrue(this.breaker.tryAcquire().isEmpty());
+    this.breaker.onSuccess(first);
+    assertEquals(CircuitState.HALF_OPEN, this.breaker.state());
+  }
+  @Test
+  void callsAdmittedBeforeOpeningDoNotCountAfterClosing() throws Exception {
+    var stale = this.breaker.tryAcquire().orElseThrow();
+    this.halfOpen();
+    this.breaker.onSuccess(this.breaker.tryAcquire().orElseThrow());
+    this.breaker.onSuccess(this.breaker.tryAcquire().orElseThrow());
+    assertEquals(CircuitState.CLOSED, this.breaker.state());
+    this.breaker.onFailure(stale);
+    this.breaker.onSuccess(this.breaker.tryAcquire().orElseThrow());
+    this.breaker.onSuccess(this.breaker.tryAcquire().orElseThrow());
+    this.breaker.onFailure(this.breaker.tryAcquire().orElseThrow());
+    // one failure in the new window of 4; counting the stale one would make it 2 and open the breaker
+    assertEquals(CircuitState.CLOSED, this.breaker.state());
+    this.breaker.onSuccess(this.breaker.tryAcquire().orElseThrow());
+    assertEquals(CircuitState.CLOSED, this.breaker.state());
+  }
+  private void open() {
+    for (int i = 0; i < 2; i++) {
+      this.breaker.onSuccess(this.breaker.tryAcquire().orElseThrow());
+      this.breaker.onFailure(this.breaker.tryAcquire().orElseThrow());
+    }
+    assertEquals(CircuitState.OPEN, this.breaker.state());
+  }
+  private void halfOpen() throws InterruptedException {
+    this.open();
+    this.awaitState(CircuitState.HALF_OPEN);
+  }
+  private void awaitState(CircuitState expected) throws InterruptedException {
+    var deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+    while (this.breaker.state() != expected && System.nanoTime() < deadline) {
+      Thread.sleep(5);
+    }
+    assertEquals(expected, this.breaker.state());
+  }
+
+}
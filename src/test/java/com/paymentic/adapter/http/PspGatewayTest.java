@@ -0,0 +1,114 @@
+package com.paymentic.adapter.http;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.paymentic.domain.psp.PaymentRequest;
+import com.paymentic.domain.psp.PaymentResult;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.enterprise.event.Event;
+import jakarta.enterprise.event.NotificationOptions;
+import jakarta.enterprise.util.TypeLiteral;
+import jakarta.ws.rs.core.Response;
+import java.lang.annotation.Annotation;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class PspGatewayTest {
+  private final CompletableFuture<PaymentResult> transport = new CompletableFuture<>();
+  private SimpleMeterRegistry registry;
+  private ExecutorService executor;
+  private PspGateway gateway;
+  @BeforeEach
+  void setUp() {
+    this.registry = new SimpleMeterRegistry();
+    this.executor = Executors.newVirtualThreadPerTaskExecutor();
+    var batcher = new PspBatcher(new PendingPsp(this.transport), this.executor, this.registry, false, 50, Duration.ofMillis(5));
+    this.gateway = new PspGateway(batcher, this.executor, new IgnoredEvent(), this.registry, Duration.ofMillis(100),
+        1, 1, 1, Duration.ofSeconds(1), 0.9, Duration.ofMillis(50), 20, 10, 0.5, Duration.ofSeconds(10), 3);
+  }
+  @AfterEach
+  void tearDown() {
+    this.executor.shutdownNow();
+  }
+  @Test
+  void answersBeforeTheDeadline() throws Exception {
+    var call = this.gateway.pay(new PaymentRequest("10.00"));
+    this.transport.complete(new PaymentResult("1", "APPROVED", LocalDateTime.now()));
+    assertEquals("APPROVED", call.get(5, TimeUnit.SECONDS).getStatus());
+    assertEquals(1, this.registry.get("payment.executor.psp.call").tag("outcome", "approved").timer().count());
+    assertEquals(0.0, this.inFlight());
+  }
+  @Test
+  void failsTheCallerAtTheDeadlineButHoldsThePermitUntilThePspAnswers() throws Exception {
+    var call = this.gateway.pay(new PaymentRequest("10.00"));
+    var error = assertThrows(ExecutionException.class, () -> call.get(5, TimeUnit.SECONDS));
+    assertInstanceOf(TimeoutException.class, error.getCause());
+    assertEquals(1, this.registry.get("payment.executor.psp.call").tag("outcome", "timeout").timer().count());
+    // the request is still on the wire, so it still counts against the limit of 1
+    assertEquals(1.0, this.inFlight());
+    assertThrows(PspUnavailableException.class, () -> this.gateway.pay(new PaymentRequest("10.00")));
+    this.transport.complete(new PaymentResult("1", "APPROVED", LocalDateTime.now()));
+    assertEquals(0.0, this.inFlight());
+    assertEquals(CircuitState.CLOSED, this.gateway.circuitState());
+  }
+  private double inFlight() {
+    return this.registry.get("payment.executor.psp.in-flight").gauge().value();
+  }
+  private record PendingPsp(CompletableFuture<PaymentResult> transport) implements PspRestClient {
+    @Override
+    public PaymentResult pay(PaymentRequest request) {
+      return this.transport.join();
+    }
+    @Override
+    public CompletionStage<PaymentResult> payAsync(PaymentRequest request) {
+      return this.transport;
+    }
+    @Override
+    public CompletionStage<List<PaymentResult>> payBatchAsync(List<PaymentRequest> requests) {
+      throw new UnsupportedOperationException();
+    }
+    @Override
+    public Response options() {
+      return Response.ok().build();
+    }
+  }
+  private static class IgnoredEvent implements Event<PspCircuitStateChanged> {
+    @Override
+    public void fire(PspCircuitStateChanged event) {
+    }
+    @Override
+    public <U extends PspCircuitStateChanged> CompletionStage<U> fireAsync(U event) {
+      return CompletableFuture.completedFuture(event);
+    }
+    @Override
+    public <U extends PspCircuitStateChanged> CompletionStage<U> fireAsync(U event, NotificationOptions options) {
+      return CompletableFuture.completedFuture(event);
+    }
+    @Override
+    public Event<PspCircuitStateChanged> select(Annotation... qualifiers) {
+      return this;
+    }
+    @Override
+    public <U extends PspCircuitStateChanged> Event<U> select(Class<U> subtype, Annotation... qualifiers) {
+      throw new UnsupportedOperationException();
+    }
+    @Override
+    public <U extends PspCircuitStateChanged> Event<U> select(TypeLiteral<U> subtype, Annotation... qualifiers) {
+      throw new UnsupportedOperationException();
+    }
+  }
+
+}
@@ -0,0 +1,103 @@
+package com.paymentic.adapter.kafka.in;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.paymentic.adapter.http.CircuitState;
+import com.paymentic.adapter.http.PspCircuitStateChanged;
+import com.paymentic.adapter.http.PspWarmedUp;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ConsumerFlowControlTest {
+  private SimpleMeterRegistry registry;
+  private ConsumerFlowControl flowControl;
+  @BeforeEach
+  void setUp() {
+    this.registry = new SimpleMeterRegistry();
+    this.flowControl = new ConsumerFlowControl(this.registry, 1024, 64, 16, Duration.ofSeconds(2), 0.9, 0);
+  }
+  @Test
+  void pausesAndResumesAChannel() {
+    var channel = ConsumerFlowControl.PAYMENT_CREATED_CHANNEL;
+    assertFalse(this.flowControl.isPaused(channel));
+    this.flowControl.pause(channel, "test");
+    assertTrue(this.flowControl.isPaused(channel));
+    assertEquals(1.0, this.registry.get("payment.executor.kafka.consumer.paused").tag("channel", channel).gauge().value());
+    this.flowControl.resume(channel, "test");
+    assertFalse(this.flowControl.isPaused(channel));
+    assertEquals(0.0, this.registry.get("payment.executor.kafka.consumer.paused").tag("channel", channel).gauge().value());
+  }
+  @Test
+  void awaitResumedBlocksUntilTheChannelResumes() throws Exception {
+    var channel = ConsumerFlowControl.PAYMENT_CREATED_CHANNEL;
+    this.flowControl.pause(channel, "test");
+    var resumed = new CountDownLatch(1);
+    Thread.ofVirtual().start(() -> {
+      try {
+        this.flowControl.awaitResumed(channel);
+        resumed.countDown();
+      } catch (InterruptedException exception) {
+        Thread.currentThread().interrupt();
+      }
+    });
+    assertFalse(resumed.await(200, TimeUnit.MILLISECONDS));
+    this.flowControl.resume(channel, "test");
+    assertTrue(resumed.await(5, TimeUnit.SECONDS));
+  }
+  @Test
+  void notifiesResumeListenersOncePerResume() {
+    var channel = ConsumerFlowControl.REFUND_CREATED_CHANNEL;
+    var resumes = new AtomicInteger();
+    this.flowControl.onResume(channel, resumes::incrementAndGet);
+    this.flowControl.resume(channel, "not paused");
+    assertEquals(0, resumes.get());
+    this.flowControl.pause(channel, "test");
+    this.flowControl.pause(channel, "test again");
+    this.flowControl.resume(channel, "test");
+    this.flowControl.resume(channel, "test again");
+    assertEquals(1, resumes.get());
+  }
+  @Test
+  void openCircuitPausesThePaymentChannelsOnly() {
+    this.flowControl.circuitChanged(new PspCircuitStateChanged(CircuitState.CLOSED, CircuitState.OPEN));
+    assertTrue(this.flowControl.isPaused(ConsumerFlowControl.PAYMENT_CREATED_CHANNEL));
+    ConsumerFlowControl.PAYMENT_RETRY_CHANNELS.forEach(channel -> assertTrue(this.flowControl.isPaused(channel), channel));
+    assertFalse(this.flowControl.isPaused(ConsumerFlowControl.REFUND_CREATED_CHANNEL));
+    this.flowControl.circuitChanged(new PspCircuitStateChanged(CircuitState.OPEN, CircuitState.HALF_OPEN));
+    assertFalse(this.flowControl.isPaused(ConsumerFlowControl.PAYMENT_CREATED_CHANNEL));
+    ConsumerFlowControl.PAYMENT_RETRY_CHANNELS.forEach(channel -> assertFalse(this.flowControl.isPaused(channel), channel));
+  }
+  @Test
+  void keepsThePaymentChannelsPausedUntilThePspIsWarmedUp() {
+    var flowControl = new ConsumerFlowControl(this.registry, 1024, 64, 16, Duration.ofSeconds(2), 0.9, 8);
+    assertTrue(flowControl.isPaused(ConsumerFlowControl.PAYMENT_CREATED_CHANNEL));
+    assertFalse(flowControl.isPaused(ConsumerFlowControl.REFUND_CREATED_CHANNEL));
+    flowControl.circuitChanged(new PspCircuitStateChanged(CircuitState.CLOSED, CircuitState.OPEN));
+    flowControl.circuitChanged(new PspCircuitStateChanged(CircuitState.OPEN, CircuitState.HALF_OPEN));
+    // the circuit closing does not lift the warm-up pause, nor the warm-up ending the circuit one
+    assertTrue(flowControl.isPaused(ConsumerFlowControl.PAYMENT_CREATED_CHANNEL));
+    flowControl.circuitChanged(new PspCircuitStateChanged(CircuitState.HALF_OPEN, CircuitState.OPEN));
+    flowControl.warmedUp(new PspWarmedUp("HTTP/1.1", 8));
+    ConsumerFlowControl.PAYMENT_RETRY_CHANNELS.forEach(channel -> assertTrue(flowControl.isPaused(channel), channel));
+    flowControl.circuitChanged(new PspCircuitStateChanged(CircuitState.OPEN, CircuitState.HALF_OPEN));
+    assertFalse(flowControl.isPaused(ConsumerFlowControl.PAYMENT_CREATED_CHANNEL));
+    ConsumerFlowControl.PAYMENT_RETRY_CHANNELS.forEach(channel -> assertFalse(flowControl.isPaused(channel), channel));
+  }
+  @Test
+  void hasOneLimitPerKnownChannel() {
+    var limit = this.flowControl.limit(ConsumerFlowControl.PAYMENT_CREATED_CHANNEL);
+    assertEquals(64, limit.limit());
+    assertNotSame(limit, this.flowControl.limit(ConsumerFlowControl.REFUND_CREATED_CHANNEL));
+    assertThrows(IllegalArgumentException.class, () -> this.flowControl.limit("unknown"));
+  }
+
+}
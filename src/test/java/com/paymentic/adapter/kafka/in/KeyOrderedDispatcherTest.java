@@ -0,0 +1,159 @@
+package com.paymentic.adapter.kafka.in;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.paymentic.infra.metrics.StartupTimeline;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.eclipse.microprofile.reactive.messaging.Message;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class KeyOrderedDispatcherTest {
+  private static final String CHANNEL = ConsumerFlowControl.PAYMENT_CREATED_CHANNEL;
+  private ExecutorService executor;
+  private ConsumerFlowControl flowControl;
+  private KeyOrderedDispatcher dispatcher;
+  @BeforeEach
+  void setUp() {
+    this.executor = Executors.newVirtualThreadPerTaskExecutor();
+  }
+  @AfterEach
+  void tearDown() {
+    this.executor.shutdownNow();
+  }
+  @Test
+  void sameKeyWaitsForThePreviousAck() throws Exception {
+    this.dispatcher(64);
+    var firstAck = new CompletableFuture<Void>();
+    var started = new CopyOnWriteArrayList<String>();
+    var otherKey = new CountDownLatch(1);
+    var secondStarted = new CountDownLatch(1);
+    this.dispatcher.dispatch("a", message(() -> firstAck), () -> started.add("a1"));
+    this.dispatcher.dispatch("a", message(), () -> {
+      started.add("a2");
+      secondStarted.countDown();
+    });
+    this.dispatcher.dispatch("b", message(), () -> {
+      started.add("b1");
+      otherKey.countDown();
+    });
+    assertTrue(otherKey.await(5, TimeUnit.SECONDS));
+    assertFalse(secondStarted.await(200, TimeUnit.MILLISECONDS));
+    assertFalse(started.contains("a2"));
+    firstAck.complete(null);
+    assertTrue(secondStarted.await(5, TimeUnit.SECONDS));
+    assertTrue(started.indexOf("a1") < started.indexOf("a2"));
+  }
+  @Test
+  void keepsOrderPerKeyUnderConcurrentCompletion() throws Exception {
+    this.dispatcher(1024);
+    var keys = List.of("a", "b", "c", "d");
+    var perKey = 200;
+    var seen = new ConcurrentHashMap<String, List<Integer>>();
+    var done = new CountDownLatch(keys.size() * perKey);
+    for (int i = 0; i < perKey; i++) {
+      for (var key : keys) {
+        var sequence = i;
+        // acks complete later, on another thread, and in no particular order across keys
+        this.dispatcher.dispatch(key, message(() -> CompletableFuture.runAsync(KeyOrderedDispatcherTest::jitter, this.executor)), () -> {
+          jitter();
+          seen.computeIfAbsent(key, ignored -> new CopyOnWriteArrayList<>()).add(sequence);
+          done.countDown();
+        });
+      }
+    }
+    assertTrue(done.await(30, TimeUnit.SECONDS));
+    for (var key : keys) {
+      var expected = new ArrayList<Integer>();
+      for (int i = 0; i < perKey; i++) {
+        expected.add(i);
+      }
+      assertEquals(expected, seen.get(key), key);
+    }
+  }
+  @Test
+  void holdsAdmissionAtTheLimit() throws Exception {
+    this.dispatcher(2);
+    var firstAck = new CompletableFuture<Void>();
+    var secondAck = new CompletableFuture<Void>();
+    var first = this.dispatcher.dispatch("a", message(() -> firstAck), () -> { });
+    var second = this.dispatcher.dispatch("b", message(() -> secondAck), () -> { });
+    assertTrue(first.toCompletableFuture().isDone());
+    // the second message filled the limit: no more demand until one of them is acked
+    assertFalse(second.toCompletableFuture().isDone());
+    awaitInFlight(2);
+    firstAck.complete(null);
+    second.toCompletableFuture().get(5, TimeUnit.SECONDS);
+    secondAck.complete(null);
+    awaitInFlight(0);
+  }
+  @Test
+  void holdsAdmissionAndWorkWhilePaused() throws Exception {
+    this.dispatcher(64);
+    this.flowControl.pause(CHANNEL, "test");
+    var handled = new CountDownLatch(1);
+    var admission = this.dispatcher.dispatch("a", message(), handled::countDown);
+    assertFalse(handled.await(200, TimeUnit.MILLISECONDS));
+    assertFalse(admission.toCompletableFuture().isDone());
+    this.flowControl.resume(CHANNEL, "test");
+    assertTrue(handled.await(5, TimeUnit.SECONDS));
+    admission.toCompletableFuture().get(5, TimeUnit.SECONDS);
+  }
+  @Test
+  void nacksFailedWorkAndMovesOnToTheNextMessageOfTheKey() throws Exception {
+    this.dispatcher(64);
+    var nacked = new CompletableFuture<Throwable>();
+    var next = new CountDownLatch(1);
+    this.dispatcher.dispatch("a", Message.of("payload", () -> CompletableFuture.completedFuture(null), error -> {
+      nacked.complete(error);
+      return CompletableFuture.completedFuture(null);
+    }), () -> {
+      throw new IllegalStateException("boom");
+    });
+    this.dispatcher.dispatch("a", message(), next::countDown);
+    assertEquals("boom", nacked.get(5, TimeUnit.SECONDS).getMessage());
+    assertTrue(next.await(5, TimeUnit.SECONDS));
+  }
+  private void dispatcher(int limit) {
+    var registry = new SimpleMeterRegistry();
+    this.flowControl = new ConsumerFlowControl(registry, limit, limit, 1, Duration.ofSeconds(2), 0.9, 0);
+    this.dispatcher = new KeyOrderedDispatcher(this.executor, this.flowControl, registry, new StartupTimeline(registry)).forChannel(CHANNEL);
+  }
+  private void awaitInFlight(int expected) throws InterruptedException {
+    var deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    while (this.dispatcher.inFlight() != expected && System.nanoTime() < deadline) {
+      Thread.sleep(10);
+    }
+    assertEquals(expected, this.dispatcher.inFlight());
+  }
+  private static Message<String> message() {
+    return message(() -> CompletableFuture.completedFuture(null));
+  }
+  private static Message<String> message(Supplier<CompletionStage<Void>> ack) {
+    return Message.of("payload", ack, error -> CompletableFuture.completedFuture(null));
+  }
+  private static void jitter() {
+    try {
+      Thread.sleep(0, ThreadLocalRandom.current().nextInt(200_000));
+    } catch (InterruptedException exception) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+}
@@ -0,0 +1,58 @@
+package com.paymentic.domain.shared;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+class MoneyTest {
+  @Test
+  void parsesDecimalsIntoMinorUnits() {
+    assertEquals(1050, Money.of("10.50", "BRL").getMinorUnits());
+    assertEquals(1050, Money.of("10.5", "BRL").getMinorUnits());
+    assertEquals(1000, Money.of("10", "BRL").getMinorUnits());
+    assertEquals(5, Money.of(".05", "BRL").getMinorUnits());
+    assertEquals(1000, Money.of("10.", "BRL").getMinorUnits());
+  }
+  @Test
+  void acceptsExtraDecimalsOnlyWhenTheyAreZeros() {
+    assertEquals(1050, Money.of("10.5000", "BRL").getMinorUnits());
+    assertThrows(IllegalArgumentException.class, () -> Money.of("10.505", "BRL"));
+  }
+  @Test
+  void usesTheDecimalsOfTheCurrency() {
+    assertEquals(1500, Money.of("1500", "JPY").getMinorUnits());
+    assertEquals(1500, Money.of("1500.00", "JPY").getMinorUnits());
+    assertThrows(IllegalArgumentException.class, () -> Money.of("1500.5", "JPY"));
+    assertEquals(10500, Money.of("10.5", "KWD").getMinorUnits());
+  }
+  @Test
+  void keepsTheIncomingTextAndFormatsOnlyStoredAmounts() {
+    assertEquals("10", Money.of("10", "BRL").amount());
+    assertEquals("10.00", new Money(1000, "BRL").amount());
+    assertEquals("0.05", new Money(5, "BRL").amount());
+    assertEquals("1500", new Money(1500, "JPY").amount());
+    assertEquals(Money.of("10", "BRL"), Money.of("10.00", "BRL"));
+  }
+  @Test
+  void rejectsAmountsThatDoNotFitALong() {
+    assertEquals(Long.MAX_VALUE, Money.of("92233720368547758.07", "BRL").getMinorUnits());
+    assertThrows(ArithmeticException.class, () -> Money.of("92233720368547758.08", "BRL"));
+    assertThrows(ArithmeticException.class, () -> Money.of("92233720368547759", "BRL"));
+  }
+  @Test
+  void rejectsSignsAndAmountsWithoutDigits() {
+    assertThrows(IllegalArgumentException.class, () -> Money.of("-10", "BRL"));
+    assertThrows(IllegalArgumentException.class, () -> Money.of(".", "BRL"));
+    assertThrows(IllegalArgumentException.class, () -> Money.of("1,00", "BRL"));
+    assertThrows(IllegalArgumentException.class, () -> Money.of("", "BRL"));
+  }
+  @Test
+  void givesCurrenciesUnknownToTheJdkTwoDecimals() {
+    assertEquals(1050, Money.of("10.50", "XYZ").getMinorUnits());
+    assertThrows(IllegalArgumentException.class, () -> Money.of("10", "brl"));
+    assertThrows(IllegalArgumentException.class, () -> Money.of("10", "BRLX"));
+    assertThrows(IllegalArgumentException.class, () -> Money.of("10", null));
+  }
+
+}
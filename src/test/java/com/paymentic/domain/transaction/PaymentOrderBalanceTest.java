@@ -0,0 +1,56 @@
+package com.paymentic.domain.transaction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.paymentic.domain.shared.Money;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class PaymentOrderBalanceTest {
+  @Test
+  void sumsApprovedPaymentsAndRefunds() {
+    var balance = PaymentOrderBalance.from(List.of(
+        new PaymentOrderTotal(TransactionType.PAYMENT, TransactionStatus.APPROVED, "BRL", 10000),
+        new PaymentOrderTotal(TransactionType.REFUND, TransactionStatus.APPROVED, "BRL", 3000),
+        new PaymentOrderTotal(TransactionType.REFUND, TransactionStatus.DECLINED, "BRL", 50000)), 0);
+    assertEquals(TransactionStatus.APPROVED, balance.status());
+    assertEquals(7000, balance.refundableMinorUnits());
+    assertTrue(balance.allowsRefund(Money.of("70.00", "BRL")));
+  }
+  @Test
+  void unknownPaymentOrderHasNoBalance() {
+    assertNull(PaymentOrderBalance.from(List.of(), 0));
+    assertNull(PaymentOrderBalance.from(List.of(new PaymentOrderTotal(TransactionType.REFUND, TransactionStatus.APPROVED, "BRL", 100)), 0));
+  }
+  @Test
+  void declinedPaymentAllowsNoRefund() {
+    var balance = PaymentOrderBalance.from(List.of(
+        new PaymentOrderTotal(TransactionType.PAYMENT, TransactionStatus.DECLINED, "BRL", 10000)), 0);
+    assertEquals(TransactionStatus.DECLINED, balance.status());
+    assertEquals(0, balance.refundableMinorUnits());
+    assertFalse(balance.allowsRefund(Money.of("1.00", "BRL")));
+  }
+  @Test
+  void approvedAttemptWinsOverADeclinedOne() {
+    var balance = PaymentOrderBalance.from(List.of(
+        new PaymentOrderTotal(TransactionType.PAYMENT, TransactionStatus.APPROVED, "BRL", 10000),
+        new PaymentOrderTotal(TransactionType.PAYMENT, TransactionStatus.DECLINED, "BRL", 10000)), 0);
+    assertEquals(TransactionStatus.APPROVED, balance.status());
+    assertEquals(10000, balance.refundableMinorUnits());
+  }
+  @Test
+  void rejectsAnOverRefund() {
+    var balance = PaymentOrderBalance.paid(Money.of("100.00", "BRL"), TransactionStatus.APPROVED, 0).refunded(Money.of("60.00", "BRL"));
+    assertTrue(balance.allowsRefund(Money.of("40.00", "BRL")));
+    assertFalse(balance.allowsRefund(Money.of("40.01", "BRL")));
+  }
+  @Test
+  void rejectsARefundInAnotherCurrency() {
+    var balance = PaymentOrderBalance.paid(Money.of("100.00", "BRL"), TransactionStatus.APPROVED, 0);
+    assertFalse(balance.allowsRefund(Money.of("10.00", "USD")));
+  }
+
+}
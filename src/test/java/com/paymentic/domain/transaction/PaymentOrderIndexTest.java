@@ -0,0 +1,69 @@
+package com.paymentic.domain.transaction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.paymentic.domain.shared.Money;
+import com.paymentic.domain.shared.PaymentOrderId;
+import com.paymentic.domain.transaction.repositories.TransactionRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class PaymentOrderIndexTest {
+  private final PaymentOrderId paymentOrder = new PaymentOrderId(UUID.randomUUID());
+  private final StoredTotals totals = new StoredTotals();
+  private PaymentOrderIndex index;
+  @BeforeEach
+  void setUp() {
+    this.index = new PaymentOrderIndex(this.totals, new SimpleMeterRegistry(), 100, Duration.ofHours(1));
+  }
+  @Test
+  void reservesApprovedRefundsUntilThePaymentIsUsedUp() {
+    this.index.paid(this.paymentOrder, Money.of("100.00", "BRL"), TransactionStatus.APPROVED);
+    assertEquals(TransactionStatus.APPROVED, this.index.refund(this.paymentOrder, Money.of("60.00", "BRL")));
+    assertEquals(TransactionStatus.DECLINED, this.index.refund(this.paymentOrder, Money.of("60.00", "BRL")));
+    assertEquals(TransactionStatus.APPROVED, this.index.refund(this.paymentOrder, Money.of("40.00", "BRL")));
+    assertEquals(0, this.totals.loads);
+  }
+  @Test
+  void declinesRefundsOfAnUnknownPaymentOrder() {
+    assertEquals(TransactionStatus.DECLINED, this.index.refund(this.paymentOrder, Money.of("1.00", "BRL")));
+    assertEquals(1, this.totals.loads);
+  }
+  @Test
+  void rolledBackRefundGivesItsAmountBack() {
+    this.totals.rows.add(new PaymentOrderTotal(TransactionType.PAYMENT, TransactionStatus.APPROVED, "BRL", 10000));
+    assertEquals(TransactionStatus.APPROVED, this.index.refund(this.paymentOrder, Money.of("100.00", "BRL")));
+    // the refund transaction rolled back, so the database has no refund row
+    this.index.invalidate(this.paymentOrder);
+    assertEquals(TransactionStatus.APPROVED, this.index.refund(this.paymentOrder, Money.of("100.00", "BRL")));
+    assertEquals(2, this.totals.loads);
+  }
+  @Test
+  void readsRefundsOfAnotherPodAfterARebalance() {
+    this.totals.rows.add(new PaymentOrderTotal(TransactionType.PAYMENT, TransactionStatus.APPROVED, "BRL", 10000));
+    this.index.paid(this.paymentOrder, Money.of("100.00", "BRL"), TransactionStatus.APPROVED);
+    // another pod approved a refund while it owned the partition
+    this.totals.rows.add(new PaymentOrderTotal(TransactionType.REFUND, TransactionStatus.APPROVED, "BRL", 8000));
+    this.index.clear();
+    assertEquals(TransactionStatus.DECLINED, this.index.refund(this.paymentOrder, Money.of("50.00", "BRL")));
+    assertEquals(TransactionStatus.APPROVED, this.index.refund(this.paymentOrder, Money.of("20.00", "BRL")));
+  }
+  private static class StoredTotals extends TransactionRepository {
+    private final List<PaymentOrderTotal> rows = new ArrayList<>();
+    private int loads;
+    StoredTotals() {
+      super(null);
+    }
+    @Override
+    public List<PaymentOrderTotal> paymentOrderTotals(UUID paymentOrder) {
+      this.loads++;
+      return List.copyOf(this.rows);
+    }
+  }
+
+}
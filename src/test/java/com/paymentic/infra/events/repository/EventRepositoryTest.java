@@ -0,0 +1,87 @@
+package com.paymentic.infra.events.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.paymentic.infra.events.Event;
+import com.paymentic.infra.events.RecentEvents;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+class EventRepositoryTest {
+  private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+  @Test
+  void handlesAnIdRepeatedInsideOneBatchOnce() {
+    var repository = new InMemoryEventRepository(100, this.registry);
+    var a = UUID.randomUUID();
+    var b = UUID.randomUUID();
+    assertEquals(Set.of(a, b), repository.shouldHandleAll(List.of(a, a, b)));
+    assertEquals(List.of(List.of(a, b)), repository.inserts);
+  }
+  @Test
+  void answersIdsOfAPreviousBatchFromTheCache() {
+    var repository = new InMemoryEventRepository(100, this.registry);
+    var a = UUID.randomUUID();
+    var b = UUID.randomUUID();
+    var c = UUID.randomUUID();
+    assertEquals(Set.of(a, b), repository.shouldHandleAll(List.of(a, b)));
+    assertEquals(Set.of(c), repository.shouldHandleAll(List.of(b, c)));
+    assertEquals(List.of(List.of(a, b), List.of(c)), repository.inserts);
+    assertEquals(1.0, this.registry.get("payment.executor.dedup.cache").tag("result", "hit").counter().count());
+  }
+  @Test
+  void skipsABatchOfDuplicatesWithoutTheDatabase() {
+    var repository = new InMemoryEventRepository(100, this.registry);
+    var a = UUID.randomUUID();
+    repository.shouldHandleAll(List.of(a));
+    assertEquals(Set.of(), repository.shouldHandleAll(List.of(a, a)));
+    assertEquals(1, repository.inserts.size());
+  }
+  @Test
+  void fallsBackToTheDatabaseOnceTheCacheForgotAnId() {
+    var repository = new InMemoryEventRepository(1, this.registry);
+    var a = UUID.randomUUID();
+    var b = UUID.randomUUID();
+    repository.shouldHandleAll(List.of(a));
+    repository.shouldHandleAll(List.of(b));
+    assertEquals(Set.of(), repository.shouldHandleAll(List.of(a)));
+    assertEquals(1.0, this.registry.get("payment.executor.dedup.database.duplicates").counter().count());
+  }
+  @Test
+  void sharesDuplicatesBetweenSingleAndBatchMode() {
+    var repository = new InMemoryEventRepository(100, this.registry);
+    var a = UUID.randomUUID();
+    var b = UUID.randomUUID();
+    assertTrue(repository.shouldHandle(new Event(a)));
+    assertFalse(repository.shouldHandle(new Event(a)));
+    assertEquals(Set.of(b), repository.shouldHandleAll(List.of(a, b)));
+  }
+  private static class InMemoryEventRepository extends EventRepository {
+    private final Set<UUID> table = new HashSet<>();
+    private final List<List<UUID>> inserts = new ArrayList<>();
+    InMemoryEventRepository(int cacheSize, SimpleMeterRegistry registry) {
+      super(new RecentEvents(cacheSize), registry, Duration.ofDays(7));
+    }
+    @Override
+    Set<UUID> insertIfAbsent(Collection<UUID> ids) {
+      this.inserts.add(List.copyOf(ids));
+      var inserted = new LinkedHashSet<UUID>();
+      for (var id : ids) {
+        if (this.table.add(id)) {
+          inserted.add(id);
+        }
+      }
+      return inserted;
+    }
+  }
+
+}
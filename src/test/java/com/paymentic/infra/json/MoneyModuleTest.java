@@ -0,0 +1,31 @@
+package com.paymentic.infra.json;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.fasterxml.jackson.annotation.JsonUnwrapped;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.InvalidFormatException;
+import com.paymentic.domain.shared.Money;
+import org.junit.jupiter.api.Test;
+
+class MoneyModuleTest {
+  private final ObjectMapper mapper = new ObjectMapper().registerModule(MoneyModule.module());
+  @Test
+  void writesTheAmountAsItCameIn() throws Exception {
+    assertEquals("{\"amount\":\"10\",\"currency\":\"BRL\"}", this.mapper.writeValueAsString(Money.of("10", "BRL")));
+  }
+  @Test
+  void writesUnwrappedMoneyAsFlatFields() throws Exception {
+    assertEquals("{\"id\":\"1\",\"amount\":\"10.5\",\"currency\":\"BRL\"}",
+        this.mapper.writeValueAsString(new Payload("1", Money.of("10.5", "BRL"))));
+  }
+  @Test
+  void readsMoney() throws Exception {
+    assertEquals(new Money(1050, "BRL"), this.mapper.readValue("{\"currency\":\"BRL\",\"amount\":\"10.50\"}", Money.class));
+    assertThrows(InvalidFormatException.class, () -> this.mapper.readValue("{\"amount\":\"-1\",\"currency\":\"BRL\"}", Money.class));
+  }
+  record Payload(String id, @JsonUnwrapped Money money) {
+  }
+
+}